@@ -3,23 +3,49 @@
  */
 package ticket.booking;
 
+import ticket.booking.entities.FareQuote;
 import ticket.booking.entities.Train;
 import ticket.booking.entities.User;
+import ticket.booking.services.ReplicaFollower;
+import ticket.booking.services.ReplicaUnavailableException;
+import ticket.booking.services.TimetableImporter;
 import ticket.booking.services.UserBookingService;
 import ticket.booking.util.UserServiceUtil;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.*;
 
 public class App {
+    private static final long REPLICA_MAX_STALENESS_MILLIS = 1000;
+    private static final long REPLICA_POLL_INTERVAL_MILLIS = 100;
+    private static final long PRIMARY_SNAPSHOT_INTERVAL_MILLIS = 60_000;
+
+    // Usage: [--primary <changeStreamDir>], [--replica <changeStreamDir>] or [--import <timetableFile>]
     public static void main(String[] args) throws IOException {
         System.out.println("Welcome to my Ticket Booking System!");
         Scanner scanner = new Scanner(System.in);
         int option = 0;
         UserBookingService userBookingService;
 
+        if (args.length == 2 && args[0].equals("--replica")) {
+            runReplica(new File(args[1]), scanner);
+            return;
+        }
+
         try {
             userBookingService = new UserBookingService();
+            if (args.length == 2 && args[0].equals("--import")) {
+                TimetableImporter.Result result = userBookingService.importTimetable(new File(args[1]));
+                result.getErrors().forEach(System.out::println);
+                result.getNotes().forEach(System.out::println);
+                System.out.println(result.getResultInfo());
+                return;
+            }
+            if (args.length == 2 && args[0].equals("--primary")) {
+                userBookingService.publishChanges(new File(args[1]), PRIMARY_SNAPSHOT_INTERVAL_MILLIS);
+                System.out.println("Publishing changes to " + args[1]);
+            }
         } catch (IOException ex) {
             System.out.println("There is something wrong! " + ex.getMessage());
             return;
@@ -27,7 +53,7 @@ public class App {
 
         Train trainSelectedForBooking = null;
 
-        while (option != 7) {
+        while (option != 8) {
             System.out.println("Choose option");
             System.out.println("1. Sign up");
             System.out.println("2. Login");
@@ -35,7 +61,8 @@ public class App {
             System.out.println("4. Search Trains");
             System.out.println("5. Book a Seat");
             System.out.println("6. Cancel my Booking");
-            System.out.println("7. Exit the App");
+            System.out.println("7. Leave the Waitlist");
+            System.out.println("8. Exit the App");
             option = scanner.nextInt();
             scanner.nextLine();
 
@@ -111,11 +138,20 @@ public class App {
                         break;
                     }
 
+                    Map<String, FareQuote> fares = new HashMap<>();
+                    for (FareQuote quote : userBookingService.quoteFares(trains, source, destination)) {
+                        fares.put(quote.getTrainId(), quote);
+                    }
+
                     System.out.println("Available Trains:");
                     int index = 1;
                     for (Train t : trains) {
                         System.out.println(index + ". Train ID: " + t.getTrainId() + " | Train No: " + t.getTrainNo());
                         System.out.println("   Route: " + String.join(" \u279D ", t.getStations()));
+                        if (fares.containsKey(t.getTrainId())) {
+                            FareQuote quote = fares.get(t.getTrainId());
+                            System.out.printf("   Fare: %.2f (%d km)%n", quote.getFare(), quote.getDistanceKm());
+                        }
                         System.out.println("   Timings:");
                         for (Map.Entry<String, String> entry : t.getStationTimes().entrySet()) {
                             System.out.println("     \u23F0 " + entry.getKey() + " - " + entry.getValue());
@@ -144,12 +180,7 @@ public class App {
                     System.out.println("\u2705 Train Selected: " + trainSelectedForBooking.getTrainId());
 
                     System.out.println("Available Seats:");
-                    for (List<Integer> row : trainSelectedForBooking.getSeats()) {
-                        for (Integer seat : row) {
-                            System.out.print(seat + " ");
-                        }
-                        System.out.println();
-                    }
+                    System.out.print(trainSelectedForBooking.getSeatMap().getRowSummary());
                     break;
 
                 case 5:
@@ -158,26 +189,27 @@ public class App {
                         break;
                     }
                     System.out.println("Select a seat out of these seats");
-                    List<List<Integer>> seats = userBookingService.fetchSeats(trainSelectedForBooking);
-                    for (List<Integer> row : seats) {
-                        for (Integer val : row) {
-                            System.out.print(val + " ");
-                        }
-                        System.out.println();
-                    }
+                    System.out.print(userBookingService.fetchSeats(trainSelectedForBooking).getRowSummary());
 
                     System.out.println("Select the seat by typing the row and column");
                     System.out.println("Enter the row");
                     int row = scanner.nextInt();
                     System.out.println("Enter the column");
                     int col = scanner.nextInt();
+                    scanner.nextLine();
 
                     System.out.println("Booking your seat....");
                     Boolean booked = userBookingService.bookTrainSeat(trainSelectedForBooking, row, col);
                     if (booked.equals(Boolean.TRUE)) {
                         System.out.println("Booked! Enjoy your journey");
+                    } else if (userBookingService.fetchSeats(trainSelectedForBooking).getFreeSeatCount() > 0) {
+                        System.out.println("Can't book this seat, please pick a free one");
                     } else {
-                        System.out.println("Can't book this seat");
+                        System.out.println("This train is fully booked");
+                        System.out.println("Join the waitlist for this train? (y/n)");
+                        if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                            userBookingService.joinWaitlist(trainSelectedForBooking, 0);
+                        }
                     }
                     break;
 
@@ -191,7 +223,79 @@ public class App {
                         System.out.println("Booking not found!");
                     }
                     break;
+
+                case 7:
+                    if (trainSelectedForBooking == null) {
+                        System.out.println("\u274C Please select a train first in option 4!");
+                        break;
+                    }
+                    userBookingService.leaveWaitlist(trainSelectedForBooking);
+                    break;
+            }
+        }
+    }
+
+    // Read-only mode: serves searches and seat availability from a primary's change stream
+    private static void runReplica(File changeStreamDir, Scanner scanner) {
+        ReplicaFollower follower;
+        try {
+            follower = new ReplicaFollower(changeStreamDir, REPLICA_MAX_STALENESS_MILLIS);
+        } catch (IOException ex) {
+            System.out.println("Can't start replica! " + ex.getMessage());
+            return;
+        }
+        follower.start(REPLICA_POLL_INTERVAL_MILLIS);
+        System.out.println("Running as read-only replica of " + changeStreamDir);
+
+        int option = 0;
+        while (option != 3) {
+            System.out.println("Choose option");
+            System.out.println("1. Search Trains");
+            System.out.println("2. Check Seat Availability");
+            System.out.println("3. Exit the App");
+            option = scanner.nextInt();
+            scanner.nextLine();
+
+            switch (option) {
+                case 1:
+                    System.out.println("Enter the source station: ");
+                    String source = scanner.nextLine();
+                    System.out.println("Enter the destination station: ");
+                    String destination = scanner.nextLine();
+                    List<Train> trains;
+                    try {
+                        trains = follower.searchTrains(source, destination, null);
+                    } catch (ReplicaUnavailableException ex) {
+                        System.out.println("\u274C Replica can't answer right now: " + ex.getMessage());
+                        break;
+                    }
+                    if (trains.isEmpty()) {
+                        System.out.println("\u274C No trains available between " + source + " and " + destination);
+                    }
+                    for (Train t : trains) {
+                        System.out.println("Train ID: " + t.getTrainId() + " | Train No: " + t.getTrainNo()
+                                + " | Route: " + String.join(" \u279D ", t.getStations()));
+                    }
+                    break;
+
+                case 2:
+                    System.out.println("Enter the train id: ");
+                    String trainId = scanner.nextLine();
+                    Optional<Integer> available;
+                    try {
+                        available = follower.getAvailableSeatCount(trainId);
+                    } catch (ReplicaUnavailableException ex) {
+                        System.out.println("\u274C Replica can't answer right now: " + ex.getMessage());
+                        break;
+                    }
+                    if (available.isPresent()) {
+                        System.out.println("Available seats: " + available.get());
+                    } else {
+                        System.out.println("Train not found!");
+                    }
+                    break;
             }
         }
+        follower.close();
     }
 }
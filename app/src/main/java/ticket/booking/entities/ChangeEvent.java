@@ -0,0 +1,115 @@
+// ChangeEvent.java
+package ticket.booking.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * Represents one seat or train mutation in the ordered change stream
+ * published by a primary process and applied by read-only replicas.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class ChangeEvent {
+
+    public enum Type {
+        TRAIN_UPSERT,
+        SEAT_BOOKED,
+        SEAT_RELEASED
+    }
+
+    private long offset;           // Position in the stream, assigned by the publisher
+    private long timestamp;        // Publish time in epoch milliseconds
+    private Type type;
+    private String trainId;
+    private Integer row;
+    private Integer seat;
+    private Train train;           // Set for TRAIN_UPSERT
+
+    // Default constructor required for Jackson
+    public ChangeEvent() {}
+
+    private ChangeEvent(Type type) {
+        this.type = type;
+    }
+
+    // Factory methods for each kind of change
+    public static ChangeEvent trainUpserted(Train train) {
+        ChangeEvent event = new ChangeEvent(Type.TRAIN_UPSERT);
+        event.trainId = train.getTrainId();
+        event.train = train;
+        return event;
+    }
+
+    public static ChangeEvent seatBooked(String trainId, int row, int seat) {
+        ChangeEvent event = new ChangeEvent(Type.SEAT_BOOKED);
+        event.trainId = trainId;
+        event.row = row;
+        event.seat = seat;
+        return event;
+    }
+
+    public static ChangeEvent seatReleased(String trainId, int row, int seat) {
+        ChangeEvent event = seatBooked(trainId, row, seat);
+        event.type = Type.SEAT_RELEASED;
+        return event;
+    }
+
+    // Getters and setters
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getTrainId() {
+        return trainId;
+    }
+
+    public void setTrainId(String trainId) {
+        this.trainId = trainId;
+    }
+
+    public Integer getRow() {
+        return row;
+    }
+
+    public void setRow(Integer row) {
+        this.row = row;
+    }
+
+    public Integer getSeat() {
+        return seat;
+    }
+
+    public void setSeat(Integer seat) {
+        this.seat = seat;
+    }
+
+    public Train getTrain() {
+        return train;
+    }
+
+    public void setTrain(Train train) {
+        this.train = train;
+    }
+}
@@ -0,0 +1,22 @@
+// FareClass.java
+package ticket.booking.entities;
+
+/**
+ * Travel classes and their fare multipliers over the base per-km fare.
+ */
+public enum FareClass {
+    SLEEPER(1.0),
+    AC_THREE_TIER(2.5),
+    AC_TWO_TIER(3.5),
+    AC_FIRST(6.0);
+
+    private final double multiplier;
+
+    FareClass(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+}
@@ -0,0 +1,119 @@
+// FareQuote.java
+package ticket.booking.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * Represents the priced fare of one train between two stations.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class FareQuote {
+    private String trainId;
+    private String source;
+    private String destination;
+    private FareClass fareClass;
+    private Quota quota;
+    private int distanceKm;
+    private double baseFare;           // Leg fares before class, quota and surge
+    private double surgeMultiplier;    // From the train's live free-seat count
+    private double fare;
+
+    // Default constructor required for Jackson
+    public FareQuote() {}
+
+    // Constructor to initialize all fields
+    public FareQuote(String trainId, String source, String destination, FareClass fareClass, Quota quota,
+                     int distanceKm, double baseFare, double surgeMultiplier, double fare) {
+        this.trainId = trainId;
+        this.source = source;
+        this.destination = destination;
+        this.fareClass = fareClass;
+        this.quota = quota;
+        this.distanceKm = distanceKm;
+        this.baseFare = baseFare;
+        this.surgeMultiplier = surgeMultiplier;
+        this.fare = fare;
+    }
+
+    // Returns a summary of the quote
+    public String getQuoteInfo() {
+        return String.format("%s %s to %s (%d km, %s/%s): %.2f (surge x%.2f)",
+                trainId, source, destination, distanceKm, fareClass, quota, fare, surgeMultiplier);
+    }
+
+    // Getters and setters
+    public String getTrainId() {
+        return trainId;
+    }
+
+    public void setTrainId(String trainId) {
+        this.trainId = trainId;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public FareClass getFareClass() {
+        return fareClass;
+    }
+
+    public void setFareClass(FareClass fareClass) {
+        this.fareClass = fareClass;
+    }
+
+    public Quota getQuota() {
+        return quota;
+    }
+
+    public void setQuota(Quota quota) {
+        this.quota = quota;
+    }
+
+    public int getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(int distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public double getBaseFare() {
+        return baseFare;
+    }
+
+    public void setBaseFare(double baseFare) {
+        this.baseFare = baseFare;
+    }
+
+    public double getSurgeMultiplier() {
+        return surgeMultiplier;
+    }
+
+    public void setSurgeMultiplier(double surgeMultiplier) {
+        this.surgeMultiplier = surgeMultiplier;
+    }
+
+    public double getFare() {
+        return fare;
+    }
+
+    public void setFare(double fare) {
+        this.fare = fare;
+    }
+}
@@ -0,0 +1,22 @@
+// Quota.java
+package ticket.booking.entities;
+
+/**
+ * Booking quotas and the multiplier each applies to the class fare.
+ */
+public enum Quota {
+    GENERAL(1.0),
+    TATKAL(1.3),
+    LADIES(1.0),
+    SENIOR_CITIZEN(0.6);
+
+    private final double multiplier;
+
+    Quota(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+}
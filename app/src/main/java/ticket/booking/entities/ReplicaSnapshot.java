@@ -0,0 +1,56 @@
+// ReplicaSnapshot.java
+package ticket.booking.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * Represents the state a replica bootstraps from: all trains, plus the
+ * change stream position to continue applying from. User accounts are
+ * never replicated.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class ReplicaSnapshot {
+    private long nextOffset;       // Offset of the first change not contained in the snapshot
+    private long logPosition;      // Byte position of that change in the change log
+    private List<Train> trains;
+
+    // Default constructor required for Jackson
+    public ReplicaSnapshot() {}
+
+    // Constructor to initialize all fields
+    public ReplicaSnapshot(long nextOffset, long logPosition, List<Train> trains) {
+        this.nextOffset = nextOffset;
+        this.logPosition = logPosition;
+        this.trains = trains;
+    }
+
+    // Getters and setters
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    public long getLogPosition() {
+        return logPosition;
+    }
+
+    public void setLogPosition(long logPosition) {
+        this.logPosition = logPosition;
+    }
+
+    public List<Train> getTrains() {
+        return trains;
+    }
+
+    public void setTrains(List<Train> trains) {
+        this.trains = trains;
+    }
+}
@@ -0,0 +1,142 @@
+// SeatMap.java
+package ticket.booking.entities;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Immutable, versioned snapshot of a train's seat layout (0 = free, 1 = booked).
+ * Changing a seat produces a new snapshot that shares every untouched row with
+ * the previous one, so readers never copy or lock and always see one consistent version.
+ */
+public final class SeatMap {
+
+    public static final int FREE = 0;
+    public static final int BOOKED = 1;
+
+    private final long version;
+    private final int[][] rows;        // Never modified after construction
+    private final int freeSeatCount;
+    private final int totalSeatCount;
+
+    private SeatMap(long version, int[][] rows, int freeSeatCount, int totalSeatCount) {
+        this.version = version;
+        this.rows = rows;
+        this.freeSeatCount = freeSeatCount;
+        this.totalSeatCount = totalSeatCount;
+    }
+
+    // Builds the first snapshot from a nested seat list
+    public static SeatMap of(List<List<Integer>> seats) {
+        if (seats == null) {
+            return new SeatMap(0, new int[0][], 0, 0);
+        }
+
+        int[][] rows = new int[seats.size()][];
+        int free = 0;
+        int total = 0;
+        for (int r = 0; r < rows.length; r++) {
+            List<Integer> row = seats.get(r);
+            rows[r] = new int[row.size()];
+            total += rows[r].length;
+            for (int s = 0; s < rows[r].length; s++) {
+                rows[r][s] = row.get(s);
+                if (rows[r][s] == FREE) {
+                    free++;
+                }
+            }
+        }
+        return new SeatMap(0, rows, free, total);
+    }
+
+    /**
+     * Returns the next version with one seat changed; only that seat's row is copied.
+     */
+    public SeatMap withSeat(int row, int seat, int status) {
+        int[][] nextRows = rows.clone();
+        nextRows[row] = rows[row].clone();
+        nextRows[row][seat] = status;
+
+        int free = freeSeatCount;
+        if (rows[row][seat] == FREE && status != FREE) {
+            free--;
+        } else if (rows[row][seat] != FREE && status == FREE) {
+            free++;
+        }
+        return new SeatMap(version + 1, nextRows, free, totalSeatCount);
+    }
+
+    public boolean isValidSeat(int row, int seat) {
+        return row >= 0 && row < rows.length && seat >= 0 && seat < rows[row].length;
+    }
+
+    public int getSeat(int row, int seat) {
+        return rows[row][seat];
+    }
+
+    public int getRowCount() {
+        return rows.length;
+    }
+
+    public int getSeatCount(int row) {
+        return rows[row].length;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getFreeSeatCount() {
+        return freeSeatCount;
+    }
+
+    public int getTotalSeatCount() {
+        return totalSeatCount;
+    }
+
+    // Returns a read-only nested list view of this snapshot without copying (AbstractList rejects writes)
+    public List<List<Integer>> asList() {
+        return new AbstractList<>() {
+            @Override
+            public List<Integer> get(int r) {
+                int[] row = rows[r];
+                return new AbstractList<>() {
+                    @Override
+                    public Integer get(int s) {
+                        return row[s];
+                    }
+
+                    @Override
+                    public int size() {
+                        return row.length;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return rows.length;
+            }
+        };
+    }
+
+    // Returns a compact one-line-per-row rendering, e.g. "Row 0: __X_X_ (4 free)"
+    public String getRowSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%d seats free (version %d)%n", freeSeatCount, version));
+        for (int r = 0; r < rows.length; r++) {
+            StringBuilder pattern = new StringBuilder(rows[r].length);
+            int free = 0;
+            for (int status : rows[r]) {
+                if (status == FREE) {
+                    pattern.append('_');
+                    free++;
+                } else {
+                    pattern.append('X');
+                }
+            }
+            summary.append(String.format("Row %d: %s (%d free)%n", r, pattern, free));
+        }
+        return summary.toString();
+    }
+}
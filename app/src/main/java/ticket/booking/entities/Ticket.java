@@ -18,6 +18,9 @@ public class Ticket {
     private String destination;
     private String dateOfTravel;
     private Train train;
+    private Integer seatRow;       // Booked seat position, null for legacy tickets
+    private Integer seatColumn;
+    private Double fare;           // Price paid, null for legacy tickets
 
     // Default constructor required for Jackson
     public Ticket() {}
@@ -34,8 +37,9 @@ public class Ticket {
 
     // Returns a summary of the ticket
     public String getTicketInfo() {
-        return String.format("Ticket ID: %s belongs to User %s from %s to %s on %s",
+        String info = String.format("Ticket ID: %s belongs to User %s from %s to %s on %s",
                 ticketId, userId, source, destination, dateOfTravel);
+        return fare == null ? info : info + String.format(" (fare %.2f)", fare);
     }
 
     // Getters and setters
@@ -86,4 +90,28 @@ public class Ticket {
     public void setTrain(Train train) {
         this.train = train;
     }
+
+    public Integer getSeatRow() {
+        return seatRow;
+    }
+
+    public void setSeatRow(Integer seatRow) {
+        this.seatRow = seatRow;
+    }
+
+    public Integer getSeatColumn() {
+        return seatColumn;
+    }
+
+    public void setSeatColumn(Integer seatColumn) {
+        this.seatColumn = seatColumn;
+    }
+
+    public Double getFare() {
+        return fare;
+    }
+
+    public void setFare(Double fare) {
+        this.fare = fare;
+    }
 }
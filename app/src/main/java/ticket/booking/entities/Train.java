@@ -1,6 +1,7 @@
 // Train.java
 package ticket.booking.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
@@ -16,9 +17,10 @@ import java.util.Map;
 public class Train {
     private String trainId;
     private String trainNo;
-    private List<List<Integer>> seats;           // 2D list representing seat availability
+    private volatile SeatMap seatMap = SeatMap.of(null);  // Current snapshot of seat availability
     private Map<String, String> stationTimes;    // Station name to arrival time
     private List<String> stations;               // Ordered list of stations on route
+    private Map<String, Integer> stationDistances; // Station name to km from the origin (optional)
 
     // Default constructor (needed for Jackson)
     public Train() {}
@@ -28,7 +30,7 @@ public class Train {
                  Map<String, String> stationTimes, List<String> stations) {
         this.trainId = trainId;
         this.trainNo = trainNo;
-        this.seats = seats;
+        this.seatMap = SeatMap.of(seats);
         this.stationTimes = stationTimes;
         this.stations = stations;
     }
@@ -55,12 +57,39 @@ public class Train {
         this.trainNo = trainNo;
     }
 
+    // Returns a read-only view of the current seat snapshot
     public List<List<Integer>> getSeats() {
-        return seats;
+        return seatMap.asList();
     }
 
-    public void setSeats(List<List<Integer>> seats) {
-        this.seats = seats;
+    // Replaces the whole seat layout; synchronized like the other seat-map writers
+    public synchronized void setSeats(List<List<Integer>> seats) {
+        this.seatMap = SeatMap.of(seats);
+    }
+
+    // Returns the current seat snapshot; it never changes after being returned
+    @JsonIgnore
+    public SeatMap getSeatMap() {
+        return seatMap;
+    }
+
+    // Carries a seat snapshot over from a train this one replaces
+    @JsonIgnore
+    public synchronized void setSeatMap(SeatMap seatMap) {
+        this.seatMap = seatMap;
+    }
+
+    /**
+     * Sets a seat to the given status if it currently has the expected status,
+     * publishing a new seat snapshot. Returns false for a mismatch or invalid seat.
+     */
+    public synchronized boolean compareAndSetSeat(int row, int seat, int expected, int status) {
+        SeatMap current = seatMap;
+        if (!current.isValidSeat(row, seat) || current.getSeat(row, seat) != expected) {
+            return false;
+        }
+        seatMap = current.withSeat(row, seat, status);
+        return true;
     }
 
     public Map<String, String> getStationTimes() {
@@ -78,4 +107,12 @@ public class Train {
     public void setStations(List<String> stations) {
         this.stations = stations;
     }
+
+    public Map<String, Integer> getStationDistances() {
+        return stationDistances;
+    }
+
+    public void setStationDistances(Map<String, Integer> stationDistances) {
+        this.stationDistances = stationDistances;
+    }
 }
@@ -0,0 +1,85 @@
+// WaitlistEntry.java
+package ticket.booking.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * Represents a passenger waiting for a seat on a train for a given travel date.
+ * Entries are ordered by priority (lower value first) and then by arrival order.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class WaitlistEntry implements Comparable<WaitlistEntry> {
+    private String userId;
+    private String trainId;
+    private String dateOfTravel;
+    private int priority;          // Lower value is promoted first
+    private long sequence;         // Arrival order, used to break priority ties
+
+    // Default constructor required for Jackson
+    public WaitlistEntry() {}
+
+    // Constructor to initialize all fields
+    public WaitlistEntry(String userId, String trainId, String dateOfTravel, int priority, long sequence) {
+        this.userId = userId;
+        this.trainId = trainId;
+        this.dateOfTravel = dateOfTravel;
+        this.priority = priority;
+        this.sequence = sequence;
+    }
+
+    @Override
+    public int compareTo(WaitlistEntry other) {
+        int byPriority = Integer.compare(priority, other.priority);
+        return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+    }
+
+    // Returns a summary of the waitlist entry
+    public String getWaitlistInfo() {
+        return String.format("User %s waitlisted on train %s for %s (priority %d)",
+                userId, trainId, dateOfTravel, priority);
+    }
+
+    // Getters and setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getTrainId() {
+        return trainId;
+    }
+
+    public void setTrainId(String trainId) {
+        this.trainId = trainId;
+    }
+
+    public String getDateOfTravel() {
+        return dateOfTravel;
+    }
+
+    public void setDateOfTravel(String dateOfTravel) {
+        this.dateOfTravel = dateOfTravel;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+}
@@ -0,0 +1,120 @@
+// DatasetGenerator.java
+package ticket.booking.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ticket.booking.entities.Train;
+import ticket.booking.entities.User;
+import ticket.booking.util.UserServiceUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthesizes trains.json and users.json files for load testing.
+ * The same seed and sizes always produce the same files.
+ */
+public class DatasetGenerator {
+
+    public static final String TRAINS_FILE = "trains.json";
+    public static final String USERS_FILE = "users.json";
+    private static final int MAX_ROUTE_MINUTES = 18 * 60;
+    private static final int PASSWORD_LOG_ROUNDS = 4; // Cheap hashes so large user sets generate quickly
+
+    private final int trainCount;
+    private final int userCount;
+    private final int stationCount;
+    private final int routeLength;
+    private final int seatRows;
+    private final int seatColumns;
+
+    public DatasetGenerator(int trainCount, int userCount, int stationCount,
+                            int routeLength, int seatRows, int seatColumns) {
+        if (routeLength < 2 || routeLength > stationCount) {
+            throw new IllegalArgumentException("Route length must be between 2 and the station count");
+        }
+        this.trainCount = trainCount;
+        this.userCount = userCount;
+        this.stationCount = stationCount;
+        this.routeLength = routeLength;
+        this.seatRows = seatRows;
+        this.seatColumns = seatColumns;
+    }
+
+    /**
+     * Writes the generated trains and users into the given directory.
+     */
+    public void generate(File directory, long seed) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory);
+        }
+
+        Random random = new Random(seed);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.writeValue(new File(directory, TRAINS_FILE), generateTrains(random));
+        objectMapper.writeValue(new File(directory, USERS_FILE), generateUsers());
+    }
+
+    private List<Train> generateTrains(Random random) {
+        List<String> stationPool = new ArrayList<>();
+        for (int i = 0; i < stationCount; i++) {
+            stationPool.add(stationName(i));
+        }
+
+        List<Train> trains = new ArrayList<>(trainCount);
+        for (int i = 0; i < trainCount; i++) {
+            Collections.shuffle(stationPool, random);
+            List<String> stations = new ArrayList<>(stationPool.subList(0, routeLength));
+
+            // Departures start before 06:00 and legs share an 18 hour budget, so times never wrap past midnight
+            Map<String, String> stationTimes = new LinkedHashMap<>();
+            LocalTime time = LocalTime.of(random.nextInt(6), random.nextInt(60));
+            int legBudget = Math.max(1, MAX_ROUTE_MINUTES / (routeLength - 1));
+            for (String station : stations) {
+                stationTimes.put(station, time.toString() + ":00");
+                time = time.plusMinutes(1 + random.nextInt(legBudget));
+            }
+
+            List<List<Integer>> seats = new ArrayList<>(seatRows);
+            for (int row = 0; row < seatRows; row++) {
+                seats.add(new ArrayList<>(Collections.nCopies(seatColumns, 0)));
+            }
+
+            trains.add(new Train(trainId(i), String.valueOf(10000 + i), seats, stationTimes, stations));
+        }
+        return trains;
+    }
+
+    private List<User> generateUsers() {
+        List<User> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            String username = username(i);
+            String hashedPassword = UserServiceUtil.hashPassword(password(username), PASSWORD_LOG_ROUNDS);
+            users.add(new User(username, null, hashedPassword, new ArrayList<>(), "load-user-" + i));
+        }
+        return users;
+    }
+
+    private static String stationName(int index) {
+        return String.format("Station%04d", index);
+    }
+
+    private static String trainId(int index) {
+        return String.format("load%05d", index);
+    }
+
+    private static String username(int index) {
+        return "user" + index;
+    }
+
+    // Password of a generated user, also used by LOGIN operations
+    static String password(String username) {
+        return "pw-" + username;
+    }
+}
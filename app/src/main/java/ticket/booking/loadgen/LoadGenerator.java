@@ -0,0 +1,165 @@
+/*
+ * Ticket Booking App - Load Generator
+ */
+package ticket.booking.loadgen;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ticket.booking.entities.Train;
+import ticket.booking.entities.User;
+import ticket.booking.services.TrainService;
+import ticket.booking.services.UserBookingService;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Command line entry point for synthesizing datasets and driving booking traffic.
+ *
+ * <pre>
+ * generate --out DIR [--trains 1000] [--users 1000] [--stations 200] [--route-length 8]
+ *          [--rows 10] [--cols 6] [--seed 42]
+ * run      --dir DIR [--threads 8] [--ops 100000] [--seed 42] [--skew 0.99]
+ *          [--mix 60,10,20,10] [--record TRACE]
+ * replay   --dir DIR --trace TRACE
+ * </pre>
+ *
+ * Runs and replays persist bookings into the dataset, so regenerate it with the
+ * same seed before replaying a trace for comparison.
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            printUsage();
+            return;
+        }
+
+        Map<String, String> options = parseOptions(args);
+        switch (args[0]) {
+            case "generate":
+                generate(options);
+                break;
+            case "run":
+                run(options);
+                break;
+            case "replay":
+                replay(options);
+                break;
+            default:
+                printUsage();
+        }
+    }
+
+    private static void generate(Map<String, String> options) throws IOException {
+        DatasetGenerator generator = new DatasetGenerator(
+                intOption(options, "trains", 1000),
+                intOption(options, "users", 1000),
+                intOption(options, "stations", 200),
+                intOption(options, "route-length", 8),
+                intOption(options, "rows", 10),
+                intOption(options, "cols", 6));
+        File directory = new File(requiredOption(options, "out"));
+        generator.generate(directory, longOption(options, "seed", 42));
+        System.out.println("Dataset written to " + directory.getAbsolutePath());
+    }
+
+    private static void run(Map<String, String> options) throws Exception {
+        File directory = new File(requiredOption(options, "dir"));
+        TrainService trainService = new TrainService(new File(directory, DatasetGenerator.TRAINS_FILE).getPath());
+        UserBookingService userBookingService = new UserBookingService(
+                new File(directory, DatasetGenerator.USERS_FILE).getPath(), trainService);
+
+        List<Train> trains = trainService.getAllTrains().stream()
+                .filter(train -> train.getStations().size() > 1 && !train.getSeats().isEmpty())
+                .collect(Collectors.toList());
+        List<String> usernames = new ObjectMapper()
+                .readValue(new File(directory, DatasetGenerator.USERS_FILE), new TypeReference<List<User>>() {})
+                .stream()
+                .map(User::getUsername)
+                .collect(Collectors.toList());
+
+        int[] mix = parseMix(options.getOrDefault("mix", "60,10,20,10"));
+        WorkloadGenerator workload = new WorkloadGenerator(trains, usernames,
+                intOption(options, "threads", 8), mix, Double.parseDouble(options.getOrDefault("skew", "0.99")));
+        List<Operation> operations = workload.generate(intOption(options, "ops", 100000), longOption(options, "seed", 42));
+
+        if (options.containsKey("record")) {
+            Files.write(Path.of(options.get("record")),
+                    operations.stream().map(Operation::toTraceLine).collect(Collectors.toList()));
+            System.out.println("Trace recorded to " + options.get("record"));
+        }
+
+        LoadReport report = new LoadRunner(trainService, userBookingService).run(operations);
+        System.out.print(report.getReportInfo());
+        System.out.println(userBookingService.getSearchCacheStats());
+    }
+
+    private static void replay(Map<String, String> options) throws Exception {
+        File directory = new File(requiredOption(options, "dir"));
+        TrainService trainService = new TrainService(new File(directory, DatasetGenerator.TRAINS_FILE).getPath());
+        UserBookingService userBookingService = new UserBookingService(
+                new File(directory, DatasetGenerator.USERS_FILE).getPath(), trainService);
+
+        List<Operation> operations = Files.readAllLines(Path.of(requiredOption(options, "trace"))).stream()
+                .filter(line -> !line.isBlank())
+                .map(Operation::fromTraceLine)
+                .collect(Collectors.toList());
+
+        LoadReport report = new LoadRunner(trainService, userBookingService).run(operations);
+        System.out.print(report.getReportInfo());
+        System.out.println(userBookingService.getSearchCacheStats());
+    }
+
+    // Parses "--key value" pairs following the command name
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value but got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static int[] parseMix(String mix) {
+        String[] parts = mix.split(",");
+        int[] shares = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            shares[i] = Integer.parseInt(parts[i].trim());
+        }
+        return shares;
+    }
+
+    private static String requiredOption(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required option --" + name);
+        }
+        return value;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private static long longOption(Map<String, String> options, String name, long defaultValue) {
+        return options.containsKey(name) ? Long.parseLong(options.get(name)) : defaultValue;
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage:");
+        System.out.println("  generate --out DIR [--trains N] [--users N] [--stations N] [--route-length N] "
+                + "[--rows N] [--cols N] [--seed N]");
+        System.out.println("  run --dir DIR [--threads N] [--ops N] [--seed N] [--skew S] "
+                + "[--mix search,login,book,cancel] [--record TRACE]");
+        System.out.println("  replay --dir DIR --trace TRACE");
+    }
+}
@@ -0,0 +1,86 @@
+// LoadReport.java
+package ticket.booking.loadgen;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Collects per-operation latencies and outcomes from all workers and
+ * summarizes throughput, latency percentiles and conflict rates.
+ */
+public class LoadReport {
+
+    public enum Outcome {
+        OK,
+        CONFLICT,   // Seat was already taken
+        MISS,       // Login rejected or nothing to cancel
+        ERROR
+    }
+
+    private final Map<Operation.Type, long[]> latencies = new EnumMap<>(Operation.Type.class);
+    private final Map<Operation.Type, int[]> outcomes = new EnumMap<>(Operation.Type.class);
+    private long elapsedNanos;
+
+    // Merges the results of one worker; latencies are in nanoseconds
+    public synchronized void merge(Map<Operation.Type, long[]> workerLatencies,
+                                   Map<Operation.Type, int[]> workerOutcomes) {
+        workerLatencies.forEach((type, values) -> latencies.merge(type, values, LoadReport::concat));
+        workerOutcomes.forEach((type, counts) -> outcomes.merge(type, counts, (a, b) -> {
+            int[] sum = a.clone();
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] += b[i];
+            }
+            return sum;
+        }));
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Returns a printable summary of the run
+    public synchronized String getReportInfo() {
+        long total = latencies.values().stream().mapToLong(values -> values.length).sum();
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Operations: %d in %.2f s (%.1f ops/s)%n", total, seconds,
+                seconds == 0 ? 0.0 : total / seconds));
+        report.append(String.format("%-7s %8s %8s %8s %8s %10s %10s %10s %10s%n",
+                "type", "count", "conflict", "miss", "error", "p50 us", "p95 us", "p99 us", "max us"));
+
+        for (Operation.Type type : Operation.Type.values()) {
+            long[] values = latencies.get(type);
+            if (values == null || values.length == 0) {
+                continue;
+            }
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+            int[] counts = outcomes.get(type);
+            report.append(String.format("%-7s %8d %8d %8d %8d %10d %10d %10d %10d%n", type, sorted.length,
+                    counts[Outcome.CONFLICT.ordinal()], counts[Outcome.MISS.ordinal()], counts[Outcome.ERROR.ordinal()],
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted[sorted.length - 1] / 1000));
+        }
+
+        int[] bookCounts = outcomes.get(Operation.Type.BOOK);
+        if (bookCounts != null) {
+            int bookings = Arrays.stream(bookCounts).sum();
+            report.append(String.format("Booking conflict rate: %.2f%%%n",
+                    bookings == 0 ? 0.0 : 100.0 * bookCounts[Outcome.CONFLICT.ordinal()] / bookings));
+        }
+        return report.toString();
+    }
+
+    // Returns the given percentile of sorted nanosecond latencies, in microseconds
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1000;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] joined = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return joined;
+    }
+}
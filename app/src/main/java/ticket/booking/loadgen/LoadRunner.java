@@ -0,0 +1,178 @@
+// LoadRunner.java
+package ticket.booking.loadgen;
+
+import ticket.booking.entities.SeatMap;
+import ticket.booking.entities.Ticket;
+import ticket.booking.entities.Train;
+import ticket.booking.entities.User;
+import ticket.booking.services.TrainService;
+import ticket.booking.services.UserBookingService;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes a workload against shared booking services, one thread per worker.
+ * Each worker runs its own operations in trace order.
+ */
+public class LoadRunner {
+
+    private final TrainService trainService;
+    private final UserBookingService userBookingService;
+    private final Map<String, Train> trainsById = new HashMap<>();
+    private final Map<String, User> usersByName = new HashMap<>();
+
+    public LoadRunner(TrainService trainService, UserBookingService userBookingService) {
+        this.trainService = trainService;
+        this.userBookingService = userBookingService;
+    }
+
+    /**
+     * Runs the operations and returns the collected report.
+     */
+    public LoadReport run(List<Operation> operations) throws Exception {
+        int workerCount = operations.stream().mapToInt(Operation::getWorker).max().orElse(-1) + 1;
+        List<List<Operation>> perWorker = new ArrayList<>();
+        for (int i = 0; i < workerCount; i++) {
+            perWorker.add(new ArrayList<>());
+        }
+        for (Operation operation : operations) {
+            perWorker.get(operation.getWorker()).add(operation);
+            resolve(operation);
+        }
+
+        LoadReport report = new LoadReport();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, workerCount));
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream())); // Services print on every booking
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<Operation> workerOperations : perWorker) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    runWorker(workerOperations, report);
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            report.setElapsedNanos(System.nanoTime() - begin);
+        } finally {
+            System.setOut(console);
+            executor.shutdown();
+        }
+        return report;
+    }
+
+    // Looks up trains and users up front so lookups aren't part of the measured latency.
+    // Logins are left out on purpose: their lookup is part of what they measure.
+    private void resolve(Operation operation) {
+        switch (operation.getType()) {
+            case BOOK:
+                trainsById.computeIfAbsent(operation.getArg(1),
+                        id -> trainService.findTrainById(id).orElse(null));
+                resolveUser(operation.getArg(0));
+                break;
+            case CANCEL:
+                resolveUser(operation.getArg(0));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void resolveUser(String username) {
+        usersByName.computeIfAbsent(username, name -> userBookingService.getUserByUsername(name).orElse(null));
+    }
+
+    private void runWorker(List<Operation> operations, LoadReport report) {
+        Map<Operation.Type, long[]> latencies = new EnumMap<>(Operation.Type.class);
+        Map<Operation.Type, int[]> counts = new EnumMap<>(Operation.Type.class);
+        Map<Operation.Type, Integer> sizes = new EnumMap<>(Operation.Type.class);
+
+        for (Operation operation : operations) {
+            long begin = System.nanoTime();
+            LoadReport.Outcome outcome;
+            try {
+                outcome = execute(operation);
+            } catch (Exception ex) {
+                outcome = LoadReport.Outcome.ERROR;
+            }
+            long latency = System.nanoTime() - begin;
+
+            Operation.Type type = operation.getType();
+            long[] values = latencies.computeIfAbsent(type, t -> new long[64]);
+            int size = sizes.getOrDefault(type, 0);
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                latencies.put(type, values);
+            }
+            values[size] = latency;
+            sizes.put(type, size + 1);
+            counts.computeIfAbsent(type, t -> new int[LoadReport.Outcome.values().length])[outcome.ordinal()]++;
+        }
+
+        latencies.replaceAll((type, values) -> Arrays.copyOf(values, sizes.get(type)));
+        report.merge(latencies, counts);
+    }
+
+    private LoadReport.Outcome execute(Operation operation) throws Exception {
+        switch (operation.getType()) {
+            case SEARCH:
+                userBookingService.getTrains(operation.getArg(0), operation.getArg(1));
+                return LoadReport.Outcome.OK;
+
+            case LOGIN:
+                return userBookingService.authenticate(operation.getArg(0), operation.getArg(1)).isPresent()
+                        ? LoadReport.Outcome.OK : LoadReport.Outcome.MISS;
+
+            case BOOK: {
+                User user = usersByName.get(operation.getArg(0));
+                Train train = trainsById.get(operation.getArg(1));
+                if (user == null || train == null) {
+                    return LoadReport.Outcome.MISS;
+                }
+                int row = Integer.parseInt(operation.getArg(2));
+                int seat = Integer.parseInt(operation.getArg(3));
+                if (userBookingService.bookTrainSeat(user, train, row, seat)) {
+                    return LoadReport.Outcome.OK;
+                }
+                // Only a seat someone else holds is a conflict; bookTickets also returns false on failures
+                Train stored = trainService.findTrainById(train.getTrainId()).orElse(train);
+                SeatMap seats = userBookingService.fetchSeats(stored);
+                return seats.isValidSeat(row, seat) && seats.getSeat(row, seat) == SeatMap.BOOKED
+                        ? LoadReport.Outcome.CONFLICT : LoadReport.Outcome.ERROR;
+            }
+
+            case CANCEL: {
+                User user = usersByName.get(operation.getArg(0));
+                if (user == null || user.getTicketsBooked().isEmpty()) {
+                    return LoadReport.Outcome.MISS;
+                }
+                List<Ticket> tickets = user.getTicketsBooked();
+                String ticketId = tickets.get(tickets.size() - 1).getTicketId();
+                return userBookingService.cancelBooking(user, ticketId)
+                        ? LoadReport.Outcome.OK : LoadReport.Outcome.MISS;
+            }
+
+            default:
+                throw new IllegalStateException("Unknown operation " + operation.getType());
+        }
+    }
+}
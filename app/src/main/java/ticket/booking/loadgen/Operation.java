@@ -0,0 +1,60 @@
+// Operation.java
+package ticket.booking.loadgen;
+
+import java.util.Arrays;
+
+/**
+ * One step of a load test workload, executed by a fixed worker thread.
+ * Operations are stored one per line in a trace file as tab-separated fields:
+ * worker, type, then the type's arguments.
+ */
+public class Operation {
+
+    public enum Type {
+        SEARCH,   // source, destination
+        LOGIN,    // username, password
+        BOOK,     // username, trainId, row, seat
+        CANCEL    // username (cancels the user's latest ticket)
+    }
+
+    private final int worker;
+    private final Type type;
+    private final String[] args;
+
+    public Operation(int worker, Type type, String... args) {
+        this.worker = worker;
+        this.type = type;
+        this.args = args;
+    }
+
+    public int getWorker() {
+        return worker;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getArg(int index) {
+        return args[index];
+    }
+
+    // Formats the operation as a trace line
+    public String toTraceLine() {
+        StringBuilder line = new StringBuilder().append(worker).append('\t').append(type);
+        for (String arg : args) {
+            line.append('\t').append(arg);
+        }
+        return line.toString();
+    }
+
+    // Parses an operation from a trace line
+    public static Operation fromTraceLine(String line) {
+        String[] fields = line.split("\t");
+        if (fields.length < 2) {
+            throw new IllegalArgumentException("Malformed trace line: " + line);
+        }
+        return new Operation(Integer.parseInt(fields[0]), Type.valueOf(fields[1]),
+                Arrays.copyOfRange(fields, 2, fields.length));
+    }
+}
@@ -0,0 +1,102 @@
+// WorkloadGenerator.java
+package ticket.booking.loadgen;
+
+import ticket.booking.entities.Train;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds a seeded, mixed workload of search, login, book and cancel operations.
+ * Trains are picked with Zipfian skew (earlier trains are hotter) and every user
+ * belongs to exactly one worker, so a user's bookings are never raced by two workers.
+ */
+public class WorkloadGenerator {
+
+    private final List<Train> trains;
+    private final List<String> usernames;
+    private final int workers;
+    private final int[] mix;   // Percentages for SEARCH, LOGIN, BOOK, CANCEL
+    private final double skew;
+
+    public WorkloadGenerator(List<Train> trains, List<String> usernames, int workers, int[] mix, double skew) {
+        if (trains.isEmpty()) {
+            throw new IllegalArgumentException("Workload needs at least one train");
+        }
+        if (usernames.size() < workers) {
+            throw new IllegalArgumentException("Workload needs at least one user per worker");
+        }
+        if (mix.length != Operation.Type.values().length) {
+            throw new IllegalArgumentException("Mix needs one percentage per operation type");
+        }
+        this.trains = trains;
+        this.usernames = usernames;
+        this.workers = workers;
+        this.mix = mix;
+        this.skew = skew;
+    }
+
+    /**
+     * Generates the given number of operations; the same seed always yields the same list.
+     */
+    public List<Operation> generate(int operationCount, long seed) {
+        Random random = new Random(seed);
+        ZipfianGenerator hotTrains = new ZipfianGenerator(trains.size(), skew);
+        int mixTotal = 0;
+        for (int share : mix) {
+            mixTotal += share;
+        }
+
+        List<Operation> operations = new ArrayList<>(operationCount);
+        for (int i = 0; i < operationCount; i++) {
+            int worker = i % workers;
+            Operation.Type type = pickType(random.nextInt(mixTotal));
+
+            switch (type) {
+                case SEARCH: {
+                    List<String> stations = trains.get(hotTrains.next(random)).getStations();
+                    int from = random.nextInt(stations.size() - 1);
+                    int to = from + 1 + random.nextInt(stations.size() - from - 1);
+                    operations.add(new Operation(worker, type, stations.get(from), stations.get(to)));
+                    break;
+                }
+                case LOGIN: {
+                    String username = pickUser(random, worker);
+                    operations.add(new Operation(worker, type, username, DatasetGenerator.password(username)));
+                    break;
+                }
+                case BOOK: {
+                    Train train = trains.get(hotTrains.next(random));
+                    List<List<Integer>> seats = train.getSeats();
+                    int row = random.nextInt(seats.size());
+                    int seat = random.nextInt(seats.get(row).size());
+                    operations.add(new Operation(worker, type, pickUser(random, worker), train.getTrainId(),
+                            String.valueOf(row), String.valueOf(seat)));
+                    break;
+                }
+                case CANCEL:
+                    operations.add(new Operation(worker, type, pickUser(random, worker)));
+                    break;
+            }
+        }
+        return operations;
+    }
+
+    private Operation.Type pickType(int draw) {
+        Operation.Type[] types = Operation.Type.values();
+        for (int i = 0; i < types.length; i++) {
+            draw -= mix[i];
+            if (draw < 0) {
+                return types[i];
+            }
+        }
+        return types[types.length - 1];
+    }
+
+    // Picks a user owned by the worker: users are dealt round-robin across workers
+    private String pickUser(Random random, int worker) {
+        int owned = (usernames.size() - worker + workers - 1) / workers;
+        return usernames.get(worker + workers * random.nextInt(owned));
+    }
+}
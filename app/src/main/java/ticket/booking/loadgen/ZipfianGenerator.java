@@ -0,0 +1,37 @@
+// ZipfianGenerator.java
+package ticket.booking.loadgen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Picks ranks 0..n-1 with Zipfian skew, so rank 0 is the hottest item.
+ * The cumulative distribution is precomputed once; each draw is a binary search.
+ */
+public class ZipfianGenerator {
+
+    private final double[] cumulative;
+
+    public ZipfianGenerator(int itemCount, double skew) {
+        if (itemCount <= 0) {
+            throw new IllegalArgumentException("Item count must be positive");
+        }
+
+        cumulative = new double[itemCount];
+        double total = 0.0;
+        for (int rank = 0; rank < itemCount; rank++) {
+            total += 1.0 / Math.pow(rank + 1, skew);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < itemCount; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    // Returns the next rank drawn from the distribution
+    public int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
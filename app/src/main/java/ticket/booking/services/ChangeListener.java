@@ -0,0 +1,12 @@
+// ChangeListener.java
+package ticket.booking.services;
+
+import ticket.booking.entities.ChangeEvent;
+
+/**
+ * Receives train and seat mutations in the order they are applied.
+ */
+public interface ChangeListener {
+
+    void onChange(ChangeEvent event);
+}
@@ -0,0 +1,145 @@
+// ChangeStreamPublisher.java
+package ticket.booking.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ticket.booking.entities.ChangeEvent;
+import ticket.booking.entities.ReplicaSnapshot;
+import ticket.booking.entities.Train;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends every change of the primary process to a shared change log, one JSON
+ * event per line, and writes snapshots that replicas bootstrap from.
+ */
+public class ChangeStreamPublisher implements ChangeListener, AutoCloseable {
+
+    public static final String LOG_FILE = "changes.log";
+    public static final String SNAPSHOT_FILE = "snapshot.json";
+
+    private final File directory;
+    private final ObjectMapper objectMapper;
+    private final FileOutputStream logStream;
+    private long nextOffset;
+    private long logPosition;
+    private ScheduledExecutorService snapshotter;
+
+    // Opens (or continues) the change log in the given directory
+    public ChangeStreamPublisher(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create change stream directory " + directory);
+        }
+        this.directory = directory;
+        this.objectMapper = new ObjectMapper();
+
+        File logFile = new File(directory, LOG_FILE);
+        if (logFile.exists()) {
+            recoverLog(logFile);
+        }
+        logStream = new FileOutputStream(logFile, true);
+    }
+
+    // Counts the complete events in an existing log and cuts off a line left half-written by a crash
+    private void recoverLog(File logFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile.toPath(),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long position = 0;
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position++;
+                    if (buffer.get() == '\n') {
+                        nextOffset++;
+                        logPosition = position;
+                    }
+                }
+                buffer.clear();
+            }
+
+            if (channel.size() > logPosition) {
+                System.out.println("Dropping " + (channel.size() - logPosition)
+                        + " bytes of a partial change at the end of " + logFile);
+                channel.truncate(logPosition);
+            }
+        }
+    }
+
+    /**
+     * Assigns the next offset to the event and appends it to the change log.
+     */
+    @Override
+    public synchronized void onChange(ChangeEvent event) {
+        event.setOffset(nextOffset);
+        event.setTimestamp(System.currentTimeMillis());
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(event);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+
+            logStream.write(line); // A single write, so replicas never see half a line followed by another event
+            nextOffset++;
+            logPosition += line.length;
+        } catch (IOException e) {
+            System.out.println("Failed to publish change: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a snapshot of all trains tagged with the current stream position.
+     * Callers must hold the lock that guards the train list so no change is applied meanwhile.
+     */
+    public synchronized void writeSnapshot(List<Train> trains) throws IOException {
+        ReplicaSnapshot snapshot = new ReplicaSnapshot(nextOffset, logPosition, trains);
+        File snapshotFile = new File(directory, SNAPSHOT_FILE);
+        File tempFile = new File(directory, SNAPSHOT_FILE + ".tmp");
+        objectMapper.writeValue(tempFile, snapshot);
+        Files.move(tempFile.toPath(), snapshotFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Rewrites the snapshot from the train service at a fixed interval, so a replica that starts
+     * late replays only the changes since the latest snapshot rather than the whole log.
+     */
+    public synchronized void scheduleSnapshots(TrainService trainService, long intervalMillis) {
+        if (snapshotter != null) {
+            return;
+        }
+        snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotter.scheduleWithFixedDelay(() -> {
+            try {
+                // Every train and seat change publishes under the train lock, so the snapshot matches the log position
+                synchronized (trainService) {
+                    writeSnapshot(trainService.getAllTrains());
+                }
+            } catch (IOException e) {
+                System.out.println("Failed to write change stream snapshot: " + e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+        }
+        logStream.close();
+    }
+}
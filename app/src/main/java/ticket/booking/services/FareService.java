@@ -0,0 +1,158 @@
+// FareService.java
+package ticket.booking.services;
+
+import ticket.booking.entities.FareClass;
+import ticket.booking.entities.FareQuote;
+import ticket.booking.entities.Quota;
+import ticket.booking.entities.SeatMap;
+import ticket.booking.entities.Train;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prices journeys per leg. Each train's route is turned once into cumulative
+ * distance and fare arrays, so any source to destination fare is an O(1) lookup;
+ * the table is rebuilt only when the train is replaced by a timetable update.
+ */
+public class FareService {
+
+    private static final double FARE_PER_KM = 0.6;
+    private static final double MIN_LEG_FARE = 15.0;        // Short legs still pay a minimum charge
+    private static final double AVERAGE_SPEED_KM_PER_MIN = 1.0; // Used when a train has no distances
+    private static final double SURGE_THRESHOLD = 0.5;      // Surge starts below half the seats free
+    private static final double MAX_SURGE = 1.5;
+
+    private final Map<String, FareTable> fareTables = new ConcurrentHashMap<>();
+
+    /**
+     * Quotes the fare of a train between two stations, or returns null if the train doesn't serve them.
+     */
+    public FareQuote quote(Train train, String source, String destination, FareClass fareClass, Quota quota) {
+        return quote(train, train.getSeatMap(), source, destination, fareClass, quota);
+    }
+
+    /**
+     * Quotes a fare with the surge taken from the given seat snapshot instead of the train's current one,
+     * e.g. with a seat that is being handed over counted as free.
+     */
+    public FareQuote quote(Train train, SeatMap seatMap, String source, String destination,
+                           FareClass fareClass, Quota quota) {
+        return quote(train, fareTable(train), seatMap, source, destination, fareClass, quota);
+    }
+
+    /**
+     * Quotes a whole list of search results in one pass, skipping trains that don't serve the journey.
+     */
+    public List<FareQuote> quoteAll(List<Train> trains, String source, String destination,
+                                    FareClass fareClass, Quota quota) {
+        List<FareQuote> quotes = new ArrayList<>(trains.size());
+        for (Train train : trains) {
+            FareQuote quote = quote(train, fareTable(train), train.getSeatMap(), source, destination, fareClass, quota);
+            if (quote != null) {
+                quotes.add(quote);
+            }
+        }
+        return quotes;
+    }
+
+    // Returns the surge multiplier for the train's current free-seat ratio
+    public double surgeMultiplier(Train train) {
+        return surgeMultiplier(train.getSeatMap());
+    }
+
+    // Returns the surge multiplier for the free-seat ratio of a seat snapshot
+    public double surgeMultiplier(SeatMap seatMap) {
+        if (seatMap.getTotalSeatCount() == 0) {
+            return 1.0;
+        }
+
+        double freeRatio = (double) seatMap.getFreeSeatCount() / seatMap.getTotalSeatCount();
+        if (freeRatio >= SURGE_THRESHOLD) {
+            return 1.0;
+        }
+        return 1.0 + (MAX_SURGE - 1.0) * (SURGE_THRESHOLD - freeRatio) / SURGE_THRESHOLD;
+    }
+
+    private FareQuote quote(Train train, FareTable table, SeatMap seatMap, String source, String destination,
+                            FareClass fareClass, Quota quota) {
+        Integer from = table.stationIndex.get(source);
+        Integer to = table.stationIndex.get(destination);
+        if (from == null || to == null || from >= to) {
+            return null;
+        }
+
+        int distance = table.cumulativeKm[to] - table.cumulativeKm[from];
+        double baseFare = table.cumulativeFare[to] - table.cumulativeFare[from];
+        double surge = surgeMultiplier(seatMap);
+        double fare = Math.round(baseFare * fareClass.getMultiplier() * quota.getMultiplier() * surge * 100) / 100.0;
+        return new FareQuote(train.getTrainId(), source, destination, fareClass, quota, distance, baseFare, surge, fare);
+    }
+
+    // Returns the prefix table of a train, rebuilding it if the train object was replaced
+    private FareTable fareTable(Train train) {
+        return fareTables.compute(train.getTrainId(),
+                (id, table) -> table != null && table.train == train ? table : new FareTable(train));
+    }
+
+    // Drops every precomputed table, e.g. after a bulk timetable reload
+    public void clear() {
+        fareTables.clear();
+    }
+
+    /**
+     * Cumulative distance and fare from the origin to each station of one train.
+     */
+    private static final class FareTable {
+        private final Train train;
+        private final Map<String, Integer> stationIndex;
+        private final int[] cumulativeKm;
+        private final double[] cumulativeFare;
+
+        private FareTable(Train train) {
+            this.train = train;
+            List<String> stations = train.getStations();
+            stationIndex = new HashMap<>();
+            cumulativeKm = new int[stations.size()];
+            cumulativeFare = new double[stations.size()];
+
+            for (int i = 0; i < stations.size(); i++) {
+                stationIndex.putIfAbsent(stations.get(i), i); // First occurrence, like route search
+                if (i > 0) {
+                    int legKm = legDistance(train, stations.get(i - 1), stations.get(i));
+                    cumulativeKm[i] = cumulativeKm[i - 1] + legKm;
+                    cumulativeFare[i] = cumulativeFare[i - 1] + Math.max(MIN_LEG_FARE, legKm * FARE_PER_KM);
+                }
+            }
+        }
+
+        // Uses the published distances, or estimates them from the timetable
+        private static int legDistance(Train train, String from, String to) {
+            Map<String, Integer> distances = train.getStationDistances();
+            if (distances != null && distances.containsKey(from) && distances.containsKey(to)) {
+                return Math.max(0, distances.get(to) - distances.get(from));
+            }
+
+            Map<String, String> times = train.getStationTimes();
+            if (times == null || !times.containsKey(from) || !times.containsKey(to)) {
+                return 0;
+            }
+            long minutes;
+            try {
+                minutes = Duration.between(LocalTime.parse(times.get(from)), LocalTime.parse(times.get(to))).toMinutes();
+            } catch (DateTimeParseException e) {
+                return 0;
+            }
+            if (minutes < 0) {
+                minutes += 24 * 60; // Leg runs past midnight
+            }
+            return (int) Math.round(minutes * AVERAGE_SPEED_KM_PER_MIN);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+// ReplicaFollower.java
+package ticket.booking.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ticket.booking.entities.ChangeEvent;
+import ticket.booking.entities.ReplicaSnapshot;
+import ticket.booking.entities.Train;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only replica that bootstraps from a primary's snapshot and then tails its
+ * change log into an in-memory TrainService. Reads are only served while the
+ * replica has caught up with the log within the configured staleness bound.
+ * A change that can't be parsed, or a gap in the offsets, stops the replica for good:
+ * skipping the change would silently serve wrong seat counts.
+ */
+public class ReplicaFollower implements AutoCloseable {
+
+    private static final int READ_CHUNK_SIZE = 64 * 1024;   // Grows only for a single change larger than this
+
+    private final File directory;
+    private final long maxStalenessMillis;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TrainService trainService;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-follower");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long nextOffset;
+    private long logPosition;
+    private volatile long caughtUpAt;
+    private volatile String failure;   // Why the change log can no longer be applied, null while healthy
+
+    // Constructor: bootstraps from the snapshot in the given change stream directory
+    public ReplicaFollower(File directory, long maxStalenessMillis) throws IOException {
+        this.directory = directory;
+        this.maxStalenessMillis = maxStalenessMillis;
+
+        ReplicaSnapshot snapshot = objectMapper.readValue(
+                new File(directory, ChangeStreamPublisher.SNAPSHOT_FILE), ReplicaSnapshot.class);
+        trainService = new TrainService(snapshot.getTrains());
+        nextOffset = snapshot.getNextOffset();
+        logPosition = snapshot.getLogPosition();
+        catchUp();
+    }
+
+    // Starts tailing the change log in the background
+    public void start(long pollIntervalMillis) {
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                catchUp();
+            } catch (IOException e) {
+                System.out.println("Replica failed to read change log: " + e.getMessage());
+                if (failure != null) {
+                    poller.shutdown(); // Retrying can't fix a corrupt log
+                }
+            }
+        }, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Applies every complete change appended to the log since the last call, reading it in
+     * bounded chunks. Fails immediately once the log has been found corrupt.
+     */
+    public synchronized void catchUp() throws IOException {
+        if (failure != null) {
+            throw new IOException(failure);
+        }
+        File logFile = new File(directory, ChangeStreamPublisher.LOG_FILE);
+        if (logFile.exists()) {
+            try (RandomAccessFile log = new RandomAccessFile(logFile, "r")) {
+                long length = log.length();
+                if (length < logPosition) {
+                    throw corrupt("change log is shorter than the applied position " + logPosition);
+                }
+
+                // buffer[0] is always at logPosition; a partial last line is carried over to the next chunk
+                byte[] buffer = new byte[READ_CHUNK_SIZE];
+                int filled = 0;
+                while (logPosition + filled < length) {
+                    if (filled == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                    log.seek(logPosition + filled);
+                    int read = log.read(buffer, filled,
+                            (int) Math.min(buffer.length - filled, length - logPosition - filled));
+                    if (read < 0) {
+                        break;
+                    }
+                    filled += read;
+                    int applied = applyLines(buffer, filled);
+                    System.arraycopy(buffer, applied, buffer, 0, filled - applied);
+                    filled -= applied;
+                }
+            }
+        }
+        caughtUpAt = System.currentTimeMillis();
+    }
+
+    // Applies the complete lines in bytes[0, length) and returns how many bytes they took up
+    private int applyLines(byte[] bytes, int length) throws IOException {
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            ChangeEvent event;
+            try {
+                event = objectMapper.readValue(bytes, lineStart, i - lineStart, ChangeEvent.class);
+            } catch (IOException e) {
+                logPosition += lineStart; // Keep the changes before the bad line
+                throw corrupt("unreadable change at byte " + logPosition + ": " + e.getMessage());
+            }
+            if (event.getOffset() > nextOffset) {
+                logPosition += lineStart;
+                throw corrupt("expected change " + nextOffset + " but found " + event.getOffset());
+            }
+            if (event.getOffset() == nextOffset) {
+                apply(event);
+                nextOffset++;
+            }
+            lineStart = i + 1;
+        }
+        logPosition += lineStart;
+        return lineStart;
+    }
+
+    // Puts the replica in its permanent failed state
+    private IOException corrupt(String reason) {
+        failure = "Change log corrupt or unavailable: " + reason;
+        return new IOException(failure);
+    }
+
+    private void apply(ChangeEvent event) {
+        switch (event.getType()) {
+            case TRAIN_UPSERT:
+                trainService.addTrain(event.getTrain());
+                break;
+            case SEAT_BOOKED:
+                trainService.findTrainById(event.getTrainId())
+                        .ifPresent(train -> trainService.bookTickets(train, event.getRow(), event.getSeat()));
+                break;
+            case SEAT_RELEASED:
+                trainService.releaseSeat(event.getTrainId(), event.getRow(), event.getSeat());
+                break;
+        }
+    }
+
+    /**
+     * Searches trains on the replica. An empty list means no train runs between the stations;
+     * a replica that is too stale or has a corrupt log throws instead.
+     */
+    public List<Train> searchTrains(String source, String destination, String dateOfTravel)
+            throws ReplicaUnavailableException {
+        ensureFresh();
+        return trainService.searchTrains(source, destination, dateOfTravel);
+    }
+
+    /**
+     * Returns the number of free seats on a train, or empty if there is no such train.
+     * A replica that is too stale or has a corrupt log throws instead.
+     */
+    public Optional<Integer> getAvailableSeatCount(String trainId) throws ReplicaUnavailableException {
+        ensureFresh();
+        return trainService.findTrainById(trainId).map(train -> train.getSeatMap().getFreeSeatCount());
+    }
+
+    // True once the change log has been found corrupt; the replica then never serves reads again
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    // Milliseconds since the replica last caught up with the end of the change log
+    public long getStalenessMillis() {
+        return System.currentTimeMillis() - caughtUpAt;
+    }
+
+    public synchronized long getNextOffset() {
+        return nextOffset;
+    }
+
+    // Catches up synchronously when the background poller has fallen behind the bound
+    private void ensureFresh() throws ReplicaUnavailableException {
+        if (failure != null) {
+            throw new ReplicaUnavailableException(failure);
+        }
+        if (getStalenessMillis() <= maxStalenessMillis) {
+            return;
+        }
+        try {
+            catchUp();
+        } catch (IOException e) {
+            throw new ReplicaUnavailableException(failure != null ? failure
+                    : "Replica is stale by " + getStalenessMillis() + " ms: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        poller.shutdownNow();
+    }
+}
@@ -0,0 +1,13 @@
+// ReplicaUnavailableException.java
+package ticket.booking.services;
+
+/**
+ * Thrown by a read replica that can't serve a read: it is further behind the
+ * primary than its staleness bound allows, or its change log is corrupt or unreadable.
+ */
+public class ReplicaUnavailableException extends Exception {
+
+    public ReplicaUnavailableException(String message) {
+        super(message);
+    }
+}
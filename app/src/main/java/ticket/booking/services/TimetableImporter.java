@@ -0,0 +1,308 @@
+// TimetableImporter.java
+package ticket.booking.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ticket.booking.entities.Train;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Imports a whole timetable file in one go. The file is split into per-train byte
+ * ranges with a token-level scan, the ranges are decoded and validated in parallel
+ * on the fork-join pool, then the valid trains are upserted into the TrainService
+ * with a single index rebuild and a single file write.
+ *
+ * Accepts either a JSON array of trains (the trains.json format) or one train
+ * JSON object per line. If a train_id appears more than once, the last entry wins.
+ */
+public class TimetableImporter {
+
+    private static final int BATCH_SIZE = 256;   // Entries decoded sequentially by one fork-join task
+    private static final int MAX_RUN_MINUTES = 48 * 60;   // Longest journey accepted, counting midnight rollovers
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final TrainService trainService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public TimetableImporter(TrainService trainService) {
+        this.trainService = trainService;
+    }
+
+    /**
+     * Outcome of an import: how many trains were added or updated, why others were rejected,
+     * and what was left out of imported trains (e.g. the seat layout of a train with bookings).
+     */
+    public static class Result {
+        private final int added;
+        private final int updated;
+        private final List<String> errors;
+        private final List<String> notes;
+
+        Result(int added, int updated, List<String> errors, List<String> notes) {
+            this.added = added;
+            this.updated = updated;
+            this.errors = errors;
+            this.notes = notes;
+        }
+
+        public int getAdded() {
+            return added;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        public List<String> getNotes() {
+            return notes;
+        }
+
+        // Returns a summary of the import
+        public String getResultInfo() {
+            return String.format("Imported %d new and %d updated trains, rejected %d",
+                    added, updated, errors.size());
+        }
+    }
+
+    /**
+     * Imports every valid train in the file; invalid entries are skipped and reported.
+     */
+    public Result importFile(File timetable) throws IOException {
+        byte[] content = Files.readAllBytes(timetable.toPath());
+        List<int[]> ranges = isJsonArray(content) ? splitArray(content) : splitLines(content);
+
+        Entries entries = new Entries(ranges.size(), i -> {
+            int[] range = ranges.get(i);
+            return objectMapper.readValue(content, range[0], range[1] - range[0], Train.class);
+        });
+        Batch parsed = ForkJoinPool.commonPool().invoke(new DecodeTask(entries, 0, entries.size));
+
+        List<Train> trains = lastEntryPerTrain(parsed);
+        List<String> notes = new ArrayList<>();
+        int added = trainService.upsertTrains(trains, notes);
+        return new Result(added, trains.size() - added, parsed.errors, notes);
+    }
+
+    private static boolean isJsonArray(byte[] content) {
+        for (byte b : content) {
+            if (!Character.isWhitespace(b)) {
+                return b == '[';
+            }
+        }
+        return false;
+    }
+
+    // Finds the [start, end) byte range of each array element by skipping over its tokens, without building objects
+    private List<int[]> splitArray(byte[] content) throws IOException {
+        List<int[]> ranges = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(content)) {
+            parser.nextToken(); // START_ARRAY
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new IOException("Timetable array is not closed");
+                }
+                int start = (int) parser.getTokenLocation().getByteOffset();
+                parser.skipChildren();
+                ranges.add(new int[] {start, (int) parser.getCurrentLocation().getByteOffset()});
+            }
+        }
+        return ranges;
+    }
+
+    // Returns the byte range of each non-blank line
+    private static List<int[]> splitLines(byte[] content) {
+        List<int[]> ranges = new ArrayList<>();
+        int lineStart = 0;
+        boolean blank = true;
+        for (int i = 0; i <= content.length; i++) {
+            if (i == content.length || content[i] == '\n') {
+                if (!blank) {
+                    ranges.add(new int[] {lineStart, i});
+                }
+                lineStart = i + 1;
+                blank = true;
+            } else if (!Character.isWhitespace(content[i])) {
+                blank = false;
+            }
+        }
+        return ranges;
+    }
+
+    // Keeps the last valid entry of each train_id, so a repeated train is imported, and counted, once
+    private static List<Train> lastEntryPerTrain(Batch parsed) {
+        Set<String> seen = new HashSet<>();
+        List<Train> trains = new ArrayList<>(parsed.trains.size());
+        for (int i = parsed.trains.size() - 1; i >= 0; i--) {
+            Train train = parsed.trains.get(i);
+            if (seen.add(train.getTrainId().toLowerCase())) {
+                trains.add(train);
+            } else {
+                parsed.errors.add("Train " + train.getTrainId()
+                        + ": repeated later in the file, only the last entry is imported");
+            }
+        }
+        Collections.reverse(trains);
+        return trains;
+    }
+
+    // Validates station ordering, timings, distances and the seat layout of one train
+    static List<String> validate(Train train) {
+        List<String> problems = new ArrayList<>();
+        if (train == null) {
+            problems.add("entry is not a train");
+            return problems;
+        }
+        if (train.getTrainId() == null || train.getTrainId().isBlank()) {
+            problems.add("missing train_id");
+            return problems;
+        }
+
+        List<String> stations = train.getStations();
+        if (stations == null || stations.size() < 2) {
+            problems.add("route needs at least two stations");
+            return problems;
+        }
+        Set<String> seen = new HashSet<>();
+        for (String station : stations) {
+            if (!seen.add(station)) {
+                problems.add("station " + station + " appears twice on the route");
+            }
+        }
+
+        // Times are clock times; a time earlier than the previous station's means the train ran past midnight
+        Map<String, String> times = train.getStationTimes();
+        LocalTime previous = null;
+        int runSeconds = 0;
+        for (String station : stations) {
+            String time = times == null ? null : times.get(station);
+            if (time == null) {
+                problems.add("no time for station " + station);
+                continue;
+            }
+            try {
+                LocalTime current = LocalTime.parse(time);
+                if (previous != null) {
+                    int legSeconds = current.toSecondOfDay() - previous.toSecondOfDay();
+                    if (legSeconds == 0) {
+                        problems.add("time at " + station + " is the same as at the previous station");
+                    }
+                    runSeconds += legSeconds < 0 ? legSeconds + SECONDS_PER_DAY : legSeconds;
+                }
+                previous = current;
+            } catch (DateTimeParseException e) {
+                problems.add("invalid time " + time + " for station " + station);
+            }
+        }
+        if (runSeconds > MAX_RUN_MINUTES * 60) {
+            problems.add("route runs longer than " + MAX_RUN_MINUTES / 60 + " hours");
+        }
+
+        Map<String, Integer> distances = train.getStationDistances();
+        if (distances != null) {
+            Integer previousKm = null;
+            for (String station : stations) {
+                Integer km = distances.get(station);
+                if (km == null) {
+                    problems.add("no distance for station " + station);
+                } else if (previousKm != null && km <= previousKm) {
+                    problems.add("distance at " + station + " does not increase along the route");
+                }
+                previousKm = km != null ? km : previousKm;
+            }
+        }
+
+        List<List<Integer>> seats = train.getSeats();
+        if (train.getSeatMap().getTotalSeatCount() == 0) {
+            problems.add("no seats");
+        }
+        for (List<Integer> row : seats) {
+            if (row.stream().anyMatch(seat -> seat != 0 && seat != 1)) {
+                problems.add("seat values must be 0 or 1");
+                break;
+            }
+        }
+        return problems;
+    }
+
+    @FunctionalInterface
+    private interface Decoder {
+        Train decode(int index) throws IOException;
+    }
+
+    private static class Entries {
+        private final int size;
+        private final Decoder decoder;
+
+        private Entries(int size, Decoder decoder) {
+            this.size = size;
+            this.decoder = decoder;
+        }
+    }
+
+    // Valid trains and errors of a contiguous range of entries, kept in file order
+    private static class Batch {
+        private final List<Train> trains = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+    }
+
+    private static class DecodeTask extends RecursiveTask<Batch> {
+        private final Entries entries;
+        private final int from;
+        private final int to;
+
+        private DecodeTask(Entries entries, int from, int to) {
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Batch compute() {
+            if (to - from > BATCH_SIZE) {
+                int middle = (from + to) >>> 1;
+                DecodeTask left = new DecodeTask(entries, from, middle);
+                left.fork();
+                Batch right = new DecodeTask(entries, middle, to).compute();
+                Batch merged = left.join();
+                merged.trains.addAll(right.trains);
+                merged.errors.addAll(right.errors);
+                return merged;
+            }
+
+            Batch batch = new Batch();
+            for (int i = from; i < to; i++) {
+                try {
+                    Train train = entries.decoder.decode(i);
+                    List<String> problems = validate(train);
+                    if (problems.isEmpty()) {
+                        batch.trains.add(train);
+                    } else {
+                        batch.errors.add("Entry " + (i + 1) + (train == null ? "" : " (" + train.getTrainId() + ")")
+                                + ": " + String.join(", ", problems));
+                    }
+                } catch (IOException e) {
+                    batch.errors.add("Entry " + (i + 1) + ": " + e.getMessage());
+                }
+            }
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+// TrainSearchCache.java
+package ticket.booking.services;
+
+import ticket.booking.entities.Train;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Bounded LRU cache of search results keyed by (source, destination, date).
+ * Keys are also indexed by source station so a timetable change only drops
+ * the searches that the changed train can actually answer.
+ */
+public class TrainSearchCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<SearchKey, List<Train>> entries;
+    private final Map<String, Set<SearchKey>> keysBySource = new HashMap<>();
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public TrainSearchCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true); // Access order gives LRU iteration
+    }
+
+    /**
+     * Returns the cached result for a search, or null on a miss.
+     */
+    public synchronized List<Train> get(String source, String destination, String dateOfTravel) {
+        List<Train> result = entries.get(new SearchKey(source, destination, dateOfTravel));
+        if (result == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return result;
+    }
+
+    /**
+     * Stores an immutable copy of a search result, evicting the least recently used entry if full.
+     */
+    public synchronized List<Train> put(String source, String destination, String dateOfTravel, List<Train> result) {
+        SearchKey key = new SearchKey(source, destination, dateOfTravel);
+        List<Train> snapshot = List.copyOf(result);
+        entries.put(key, snapshot);
+        keysBySource.computeIfAbsent(source, s -> new HashSet<>()).add(key);
+
+        if (entries.size() > maxEntries) {
+            Iterator<SearchKey> eldest = entries.keySet().iterator();
+            SearchKey evicted = eldest.next();
+            eldest.remove();
+            unindex(evicted);
+            evictionCount++;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drops every cached search that the given train serves (source before destination).
+     */
+    public synchronized void invalidate(Train train) {
+        if (train == null || train.getStations() == null) {
+            return;
+        }
+
+        List<String> stations = train.getStations();
+        for (int i = 0; i < stations.size(); i++) {
+            String station = stations.get(i);
+            Set<SearchKey> keys = keysBySource.get(station);
+            if (keys == null) {
+                continue;
+            }
+            Iterator<SearchKey> iterator = keys.iterator();
+            while (iterator.hasNext()) {
+                SearchKey key = iterator.next();
+                if (stations.indexOf(key.destination) > i) {
+                    entries.remove(key);
+                    iterator.remove();
+                }
+            }
+            if (keys.isEmpty()) {
+                keysBySource.remove(station);
+            }
+        }
+    }
+
+    // Drops all cached searches, e.g. after reloading the timetable
+    public synchronized void invalidateAll() {
+        entries.clear();
+        keysBySource.clear();
+    }
+
+    private void unindex(SearchKey key) {
+        Set<SearchKey> keys = keysBySource.get(key.source);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysBySource.remove(key.source);
+            }
+        }
+    }
+
+    // Statistics
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Returns a summary of the cache statistics
+    public synchronized String getStatsInfo() {
+        long lookups = hitCount + missCount;
+        double hitRate = lookups == 0 ? 0.0 : (double) hitCount / lookups;
+        return String.format("Search cache: %d entries, %d hits, %d misses, %d evictions, hit rate %.2f",
+                entries.size(), hitCount, missCount, evictionCount, hitRate);
+    }
+
+    private static final class SearchKey {
+        private final String source;
+        private final String destination;
+        private final String dateOfTravel;
+
+        private SearchKey(String source, String destination, String dateOfTravel) {
+            this.source = source;
+            this.destination = destination;
+            this.dateOfTravel = dateOfTravel;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SearchKey)) return false;
+            SearchKey other = (SearchKey) o;
+            return source.equals(other.source)
+                    && destination.equals(other.destination)
+                    && Objects.equals(dateOfTravel, other.dateOfTravel);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, destination, dateOfTravel);
+        }
+    }
+}
@@ -4,35 +4,75 @@ package ticket.booking.services;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import ticket.booking.entities.ChangeEvent;
+import ticket.booking.entities.SeatMap;
 import ticket.booking.entities.Train;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.OptionalInt;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Handles train data operations like loading, searching, booking, adding, and updating trains.
+ * The train list is copy-on-write: writers replace it under the lock, so readers may iterate it without one.
  */
 public class TrainService {
 
-    private List<Train> trainList;
+    private volatile List<Train> trainList;   // Never modified after being published
+    private Map<String, Integer> trainPositions;   // Lower-cased trainId to position in trainList
     private final ObjectMapper objectMapper;
+    private final TrainSearchCache searchCache = new TrainSearchCache(SEARCH_CACHE_SIZE);
+    private final String trainDbPath;
+    private ChangeListener changeListener;
     private static final String TRAIN_DB_PATH = "app/src/main/java/ticket/booking/localDb/trains.json";
+    private static final int SEARCH_CACHE_SIZE = 1024;
 
-    // Constructor loads train data from the JSON file
+    // Constructor loads train data from the default JSON file
     public TrainService() throws IOException {
+        this(TRAIN_DB_PATH);
+    }
+
+    // Constructor loads train data from the given JSON file
+    public TrainService(String trainDbPath) throws IOException {
+        this.trainDbPath = trainDbPath;
         objectMapper = new ObjectMapper();
         objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
         loadTrains();
     }
 
+    // Constructor for an in-memory service (e.g. a read replica) that never touches the JSON file
+    public TrainService(List<Train> trains) {
+        this.trainDbPath = null;
+        objectMapper = new ObjectMapper();
+        trainList = new ArrayList<>(trains);
+        trainPositions = indexPositions(trainList);
+    }
+
+    // Sets the listener notified of every train and seat change
+    public synchronized void setChangeListener(ChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
     // Loads all trains from the JSON file
-    public void loadTrains() throws IOException {
-        trainList = objectMapper.readValue(new File(TRAIN_DB_PATH), new TypeReference<List<Train>>() {});
+    public synchronized void loadTrains() throws IOException {
+        trainList = objectMapper.readValue(new File(trainDbPath), new TypeReference<List<Train>>() {});
+        trainPositions = indexPositions(trainList);
+        searchCache.invalidateAll();
+    }
+
+    // Builds the trainId hash index over a train list
+    private static Map<String, Integer> indexPositions(List<Train> trains) {
+        Map<String, Integer> positions = new HashMap<>(trains.size() * 2);
+        for (int i = 0; i < trains.size(); i++) {
+            positions.put(trains.get(i).getTrainId().toLowerCase(), i);
+        }
+        return positions;
     }
 
     /**
@@ -50,25 +90,55 @@ public class TrainService {
     }
 
     /**
-     * Adds a new train or updates an existing one if trainId already exists.
+     * Searches for valid trains on a travel date, served from the search cache when possible.
+     * The returned list is immutable.
      */
-    public void addTrain(Train newTrain) {
-        Optional<Train> existingTrain = trainList.stream()
-                .filter(train -> train.getTrainId().equalsIgnoreCase(newTrain.getTrainId()))
-                .findFirst();
+    public List<Train> searchTrains(String source, String destination, String dateOfTravel) {
+        List<Train> cached = searchCache.get(source, destination, dateOfTravel);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Search and store under the same lock as timetable updates so a stale result is never cached
+        synchronized (this) {
+            List<Train> result = searchTrains(source, destination);
+            if (result == null) {
+                return Collections.emptyList();
+            }
+            return searchCache.put(source, destination, dateOfTravel, result);
+        }
+    }
 
-        if (existingTrain.isPresent()) {
+    // Returns the hit/miss/eviction statistics of the search cache
+    public TrainSearchCache getSearchCache() {
+        return searchCache;
+    }
+
+    /**
+     * Adds a new train or updates an existing one if trainId already exists.
+     */
+    public synchronized void addTrain(Train newTrain) {
+        if (trainPositions.containsKey(newTrain.getTrainId().toLowerCase())) {
             updateTrain(newTrain);
         } else {
-            trainList.add(newTrain);
+            List<Train> nextList = new ArrayList<>(trainList.size() + 1);
+            nextList.addAll(trainList);
+            nextList.add(newTrain);
+            trainPositions.put(newTrain.getTrainId().toLowerCase(), nextList.size() - 1);
+            trainList = nextList;
+            searchCache.invalidate(newTrain);
+            publish(ChangeEvent.trainUpserted(newTrain));
             saveTrainListToFile();
         }
     }
 
     // Saves the current train list to the JSON file
     private void saveTrainListToFile() {
+        if (trainDbPath == null) {
+            return; // In-memory service
+        }
         try {
-            objectMapper.writeValue(new File(TRAIN_DB_PATH), trainList);
+            objectMapper.writeValue(new File(trainDbPath), trainList);
         } catch (IOException e) {
             System.out.println("Failed to save train list to file: " + e.getMessage());
         }
@@ -77,19 +147,97 @@ public class TrainService {
     /**
      * Updates an existing train in the list.
      */
-    public void updateTrain(Train updatedTrain) {
-        OptionalInt index = IntStream.range(0, trainList.size())
-                .filter(i -> trainList.get(i).getTrainId().equalsIgnoreCase(updatedTrain.getTrainId()))
-                .findFirst();
+    public synchronized void updateTrain(Train updatedTrain) {
+        Integer index = trainPositions.get(updatedTrain.getTrainId().toLowerCase());
 
-        if (index.isPresent()) {
-            trainList.set(index.getAsInt(), updatedTrain);
+        if (index != null) {
+            List<Train> nextList = new ArrayList<>(trainList);
+            Train previousTrain = nextList.set(index, updatedTrain);
+            trainList = nextList;
+            searchCache.invalidate(previousTrain);
+            searchCache.invalidate(updatedTrain);
+            publish(ChangeEvent.trainUpserted(updatedTrain));
             saveTrainListToFile();
         } else {
             addTrain(updatedTrain); // If not found, treat as new
         }
     }
 
+    // Returns a read-only view of all trains
+    public List<Train> getAllTrains() {
+        return Collections.unmodifiableList(trainList);
+    }
+
+    /**
+     * Returns the train with the given trainId (if found).
+     */
+    public synchronized Optional<Train> findTrainById(String trainId) {
+        Integer index = trainPositions.get(trainId.toLowerCase());
+        return index == null ? Optional.empty() : Optional.of(trainList.get(index));
+    }
+
+    /**
+     * Adds or replaces many trains at once: upserts go through the trainId index into a copy
+     * of the train list, then the search cache is rebuilt and the file is written a single time.
+     * A replaced train takes the seat layout from the new entry only while none of its seats are
+     * booked; otherwise it keeps its live seat map so tickets already issued stay valid, and a
+     * note is added for each layout that was ignored. Returns how many of the trains were new.
+     */
+    public synchronized int upsertTrains(List<Train> trains, List<String> notes) {
+        List<Train> nextList = new ArrayList<>(trainList);
+        Map<String, Integer> nextPositions = new HashMap<>(trainPositions);
+        int added = 0;
+
+        for (Train train : trains) {
+            String key = train.getTrainId().toLowerCase();
+            Integer index = nextPositions.get(key);
+            if (index == null) {
+                nextPositions.put(key, nextList.size());
+                nextList.add(train);
+                added++;
+            } else {
+                // Bookings serialize on this lock, so no seat can change between the check and the swap
+                SeatMap live = nextList.get(index).getSeatMap();
+                int booked = live.getTotalSeatCount() - live.getFreeSeatCount();
+                if (booked > 0) {
+                    if (!live.asList().equals(train.getSeats())) {
+                        notes.add("Train " + train.getTrainId() + ": seat layout in the file ignored, "
+                                + booked + " seats are booked");
+                    }
+                    train.setSeatMap(live);
+                }
+                nextList.set(index, train);
+            }
+        }
+
+        // Publish the new list in one step so concurrent searches never see a half-applied import
+        trainList = nextList;
+        trainPositions = nextPositions;
+        searchCache.invalidateAll();
+        for (Train train : trains) {
+            publish(ChangeEvent.trainUpserted(train));
+        }
+        saveTrainListToFile();
+        return added;
+    }
+
+    /**
+     * Frees a booked seat (row, seat) on the train with the given trainId.
+     */
+    public synchronized boolean releaseSeat(String trainId, int row, int seat) {
+        Optional<Train> train = findTrainById(trainId);
+        if (train.isEmpty()) {
+            return false;
+        }
+
+        if (train.get().compareAndSetSeat(row, seat, SeatMap.BOOKED, SeatMap.FREE)) {
+            publish(ChangeEvent.seatReleased(train.get().getTrainId(), row, seat));
+            saveTrainListToFile();
+            return true;
+        }
+        return false;
+    }
+
     // Validates if the train passes through source → destination in correct order
     private boolean validTrain(Train train, String source, String destination) {
         List<String> stationList = train.getStations();
@@ -106,18 +254,21 @@ public class TrainService {
 
     /**
      * Books a seat (row, seat) on a given train if it's available.
+     * The seat is always taken on the stored train with that trainId, even if the caller
+     * holds an instance that a timetable update has since replaced.
      */
-    public boolean bookTickets(Train train, int row, int seat) {
-        List<List<Integer>> seats = train.getSeats();
-
+    public synchronized boolean bookTickets(Train train, int row, int seat) {
         try {
-            if (row >= 0 && row < seats.size() && seat >= 0 && seat < seats.get(row).size()) {
-                if (seats.get(row).get(seat) == 0) {
-                    seats.get(row).set(seat, 1);
-                    train.setSeats(seats);
-                    addTrain(train);
-                    return true;
+            Optional<Train> stored = findTrainById(train.getTrainId());
+            Train target = stored.orElse(train);
+            if (target.compareAndSetSeat(row, seat, SeatMap.FREE, SeatMap.BOOKED)) {
+                publish(ChangeEvent.seatBooked(target.getTrainId(), row, seat));
+                if (stored.isPresent()) {
+                    saveTrainListToFile(); // Seat changes don't affect search results
+                } else {
+                    addTrain(target);
                 }
+                return true;
             }
             return false;
         } catch (Exception e) {
@@ -125,4 +276,10 @@ public class TrainService {
             return false;
         }
     }
+
+    private void publish(ChangeEvent event) {
+        if (changeListener != null) {
+            changeListener.onChange(event);
+        }
+    }
 }
@@ -4,15 +4,22 @@ package ticket.booking.services;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import ticket.booking.entities.FareClass;
+import ticket.booking.entities.FareQuote;
+import ticket.booking.entities.Quota;
+import ticket.booking.entities.SeatMap;
 import ticket.booking.entities.Ticket;
 import ticket.booking.entities.Train;
 import ticket.booking.entities.User;
+import ticket.booking.entities.WaitlistEntry;
 import ticket.booking.util.UserServiceUtil;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -23,25 +30,52 @@ public class UserBookingService {
 
     private User user;
     private List<User> userList;
+    private Map<String, User> usersById;   // userId to user, kept in step with userList
     private final ObjectMapper objectMapper;
-    private final String USERS_PATH = "app/src/main/java/ticket/booking/localDb/users.json";
+    private final TrainService trainService;
+    private final WaitlistService waitlistService;
+    private final FareService fareService;
+    private final String usersPath;
+    private final Object bookingLock = new Object();   // Guards seat ownership across bookings, cancels and the waitlist
+    private static final String USERS_PATH = "app/src/main/java/ticket/booking/localDb/users.json";
+    private static final String DEFAULT_TRAVEL_DATE = "2021-09-01"; // Replace with actual input
 
-    // Constructor: Loads all users from the file
+    // Constructor: Loads all users and trains from their default files
     public UserBookingService() throws IOException {
+        this(USERS_PATH, new TrainService());
+    }
+
+    // Constructor: Loads users from the given file and shares an existing train service
+    public UserBookingService(String usersPath, TrainService trainService) throws IOException {
+        this.usersPath = usersPath;
+        this.trainService = trainService;
         objectMapper = new ObjectMapper();
         objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        waitlistService = new WaitlistService();
+        fareService = new FareService();
         loadUsers();
     }
 
     // Loads users from JSON file
     private void loadUsers() throws IOException {
-        userList = objectMapper.readValue(new File(USERS_PATH), new TypeReference<List<User>>() {});
+        userList = objectMapper.readValue(new File(usersPath), new TypeReference<List<User>>() {});
+        usersById = new HashMap<>(userList.size() * 2);
+        for (User u : userList) {
+            usersById.put(u.getUserId(), u);
+        }
     }
 
     /**
      * Registers a new user if username is unique.
      */
     public boolean signUp(User user) throws IOException {
+        // Under the booking lock, which also guards the userId index that waitlist promotion reads
+        synchronized (bookingLock) {
+            return addUser(user);
+        }
+    }
+
+    private boolean addUser(User user) {
         try {
             Optional<User> foundUser = userList.stream()
                     .filter(u -> u.getUsername().equals(user.getUsername()))
@@ -53,6 +87,7 @@ public class UserBookingService {
             }
 
             userList.add(user);
+            usersById.put(user.getUserId(), user);
             saveUserListToFile();
             return true;
         } catch (Exception ex) {
@@ -63,10 +98,26 @@ public class UserBookingService {
 
     // Saves the user list to the JSON file
     private void saveUserListToFile() throws IOException {
-        File usersFile = new File(USERS_PATH);
+        File usersFile = new File(usersPath);
         objectMapper.writeValue(usersFile, userList);
     }
 
+    /**
+     * Starts publishing every train and seat change to a change stream in the given directory,
+     * after writing the snapshot that replicas bootstrap from. The snapshot is then rewritten
+     * every snapshotIntervalMillis. User accounts are not published.
+     */
+    public ChangeStreamPublisher publishChanges(File directory, long snapshotIntervalMillis) throws IOException {
+        ChangeStreamPublisher publisher = new ChangeStreamPublisher(directory);
+        // Hold the train lock so no change slips in between the snapshot and the stream
+        synchronized (trainService) {
+            publisher.writeSnapshot(trainService.getAllTrains());
+            trainService.setChangeListener(publisher);
+        }
+        publisher.scheduleSnapshots(trainService, snapshotIntervalMillis);
+        return publisher;
+    }
+
     // Fetches all bookings for the logged-in user
     public void fetchBookings() {
         System.out.println("Fetching your bookings...");
@@ -91,21 +142,74 @@ public class UserBookingService {
      * Cancels a ticket by ID for the logged-in user.
      */
     public boolean cancelBooking(String ticketId) throws IOException {
+        return cancelBooking(user, ticketId);
+    }
+
+    /**
+     * Cancels a ticket by ID for the given user.
+     * The freed seat goes to the head of the waitlist, or back to the inventory if nobody is waiting.
+     */
+    public boolean cancelBooking(User user, String ticketId) throws IOException {
+        if (user == null) {
+            System.out.println("Please login first!");
+            return false;
+        }
         if (ticketId == null || ticketId.isEmpty()) {
             System.out.println("Ticket ID cannot be null or empty.");
             return false;
         }
 
-        boolean isRemoved = user.getTicketsBooked()
-                .removeIf(ticket -> ticket.getTicketId().equals(ticketId));
+        // Look up and remove under the lock so a concurrent cancel of the same ticket can't hand its seat over twice
+        synchronized (bookingLock) {
+            Optional<Ticket> cancelled = user.getTicketsBooked().stream()
+                    .filter(ticket -> ticket.getTicketId().equals(ticketId))
+                    .findFirst();
 
-        if (isRemoved) {
+            if (cancelled.isEmpty() || !user.getTicketsBooked().remove(cancelled.get())) {
+                System.out.println("No ticket found with ID " + ticketId);
+                return false;
+            }
+
+            handOverSeat(cancelled.get());
             saveUserListToFile();
-            System.out.println("Ticket with ID " + ticketId + " has been canceled.");
-            return true;
-        } else {
-            System.out.println("No ticket found with ID " + ticketId);
-            return false;
+        }
+        System.out.println("Ticket with ID " + ticketId + " has been canceled.");
+        return true;
+    }
+
+    // Gives the seat of a cancelled ticket to the next waitlisted user, or frees it
+    private void handOverSeat(Ticket cancelled) {
+        Integer row = cancelled.getSeatRow();
+        Integer seat = cancelled.getSeatColumn();
+        if (row == null || seat == null || cancelled.getTrain() == null) {
+            return; // Legacy ticket without a recorded seat
+        }
+
+        String trainId = cancelled.getTrain().getTrainId();
+        Optional<Train> train = trainService.findTrainById(trainId);
+        if (train.isEmpty()) {
+            return;
+        }
+
+        while (true) {
+            Optional<WaitlistEntry> next = waitlistService.promoteNext(trainId, cancelled.getDateOfTravel());
+            if (next.isEmpty()) {
+                trainService.releaseSeat(trainId, row, seat);
+                return;
+            }
+
+            User promotedUser = usersById.get(next.get().getUserId());
+            if (promotedUser != null) {
+                // Seat stays booked in the inventory, only its owner changes. Like a normal booking,
+                // it is priced with the seat counted as free, so waitlisted passengers don't pay peak surge
+                SeatMap seats = train.get().getSeatMap();
+                SeatMap seatsBeforeBooking = seats.isValidSeat(row, seat)
+                        ? seats.withSeat(row, seat, SeatMap.FREE) : seats;
+                Ticket ticket = issueTicket(promotedUser, train.get(), row, seat,
+                        cancelled.getDateOfTravel(), quoteFullRoute(train.get(), seatsBeforeBooking));
+                System.out.println("Promoted from waitlist: " + ticket.getTicketInfo());
+                return;
+            }
         }
     }
 
@@ -114,70 +218,173 @@ public class UserBookingService {
      */
     public List<Train> getTrains(String source, String destination) throws IOException {
         try {
-            TrainService trainService = new TrainService();
-            return trainService.searchTrains(source, destination);
+            return trainService.searchTrains(source, destination, DEFAULT_TRAVEL_DATE);
         } catch (Exception ex) {
             System.out.println("There is something wrong!");
             return Collections.emptyList();
         }
     }
 
-    // Returns the seat layout of a given train
-    public List<List<Integer>> fetchSeats(Train train) {
-        return train.getSeats();
+    /**
+     * Prices every train of a search result for the journey, in the given class and quota.
+     */
+    public List<FareQuote> quoteFares(List<Train> trains, String source, String destination,
+                                      FareClass fareClass, Quota quota) {
+        return fareService.quoteAll(trains, source, destination, fareClass, quota);
+    }
+
+    // Prices search results in the default class and quota
+    public List<FareQuote> quoteFares(List<Train> trains, String source, String destination) {
+        return quoteFares(trains, source, destination, FareClass.SLEEPER, Quota.GENERAL);
+    }
+
+    // Fare of a ticket, which currently always covers the whole route
+    private Double quoteFullRoute(Train train) {
+        return quoteFullRoute(train, train.getSeatMap());
+    }
+
+    // Fare of a whole-route ticket with the surge taken from the given seat snapshot
+    private Double quoteFullRoute(Train train, SeatMap seatMap) {
+        FareQuote quote = fareService.quote(train, seatMap, train.getStations().getFirst(),
+                train.getStations().getLast(), FareClass.SLEEPER, Quota.GENERAL);
+        return quote == null ? null : quote.getFare();
     }
 
     /**
-     * Attempts to book a seat on the specified train.
+     * Bulk-imports a timetable file into the train inventory.
+     */
+    public TimetableImporter.Result importTimetable(File timetable) throws IOException {
+        TimetableImporter.Result result = new TimetableImporter(trainService).importFile(timetable);
+        fareService.clear(); // Fare tables of replaced trains are rebuilt on next use
+        return result;
+    }
+
+    // Returns the search cache statistics
+    public String getSearchCacheStats() {
+        return trainService.getSearchCache().getStatsInfo();
+    }
+
+    // Returns an immutable snapshot of the seat layout of a given train
+    public SeatMap fetchSeats(Train train) {
+        return train.getSeatMap();
+    }
+
+    /**
+     * Attempts to book a seat on the specified train for the logged-in user.
      */
     public boolean bookTrainSeat(Train train, int row, int seat) {
+        return bookTrainSeat(user, train, row, seat);
+    }
+
+    /**
+     * Attempts to book a seat on the specified train for the given user.
+     */
+    public boolean bookTrainSeat(User user, Train train, int row, int seat) {
+        if (user == null) {
+            System.out.println("Please login first!");
+            return false;
+        }
         try {
-            TrainService trainService = new TrainService();
-            List<List<Integer>> seats = train.getSeats();
-
-            if (row >= 0 && row < seats.size() && seat >= 0 && seat < seats.get(row).size()) {
-                if (seats.get(row).get(seat) == 0) {
-                    // Book seat
-                    seats.get(row).set(seat, 1);
-                    train.setSeats(seats);
-                    trainService.addTrain(train);
-
-                    // Create new ticket
-                    Ticket ticket = new Ticket();
-                    ticket.setSource(train.getStations().getFirst());
-                    ticket.setDestination(train.getStations().getLast());
-                    ticket.setTrain(train);
-                    ticket.setUserId(user.getUserId());
-                    ticket.setDateOfTravel("2021-09-01"); // Replace with actual input
-                    ticket.setTicketId(UserServiceUtil.generateTicketId());
-
-                    // Add to user's booking list
-                    user.getTicketsBooked().add(ticket);
-                    saveUserListToFile();
-
-                    System.out.println("Seat booked successfully!");
-                    System.out.println(ticket.getTicketInfo());
-
-                    return true;
-                } else {
-                    return false; // Seat already booked
+            synchronized (bookingLock) {
+                // Quote, book and ticket the stored train, even if the caller holds one a timetable update replaced
+                Train current = trainService.findTrainById(train.getTrainId()).orElse(train);
+                Double fare = quoteFullRoute(current); // Priced before booking so the seat itself isn't surged
+                if (!trainService.bookTickets(current, row, seat)) {
+                    return false; // Seat already booked or invalid seat index
                 }
-            } else {
-                return false; // Invalid seat index
+
+                Ticket ticket = issueTicket(user, current, row, seat, DEFAULT_TRAVEL_DATE, fare);
+                saveUserListToFile();
+
+                System.out.println("Seat booked successfully!");
+                System.out.println(ticket.getTicketInfo());
             }
+            return true;
         } catch (IOException ex) {
             return false;
         }
     }
 
+    /**
+     * Puts the logged-in user on the waitlist of a fully booked train.
+     */
+    public Optional<WaitlistEntry> joinWaitlist(Train train, int priority) {
+        return joinWaitlist(user, train, priority);
+    }
+
+    /**
+     * Puts the given user on the waitlist of a fully booked train.
+     * Returns empty if seats are still free or the user is already waiting for this train.
+     */
+    public Optional<WaitlistEntry> joinWaitlist(User user, Train train, int priority) {
+        if (user == null) {
+            System.out.println("Please login first!");
+            return Optional.empty();
+        }
+
+        // Checked under the booking lock so a seat freed by a concurrent cancel isn't missed
+        synchronized (bookingLock) {
+            Train current = trainService.findTrainById(train.getTrainId()).orElse(train);
+            if (current.getSeatMap().getFreeSeatCount() > 0) {
+                System.out.println("Seats are still available, please book one instead");
+                return Optional.empty();
+            }
+
+            Optional<WaitlistEntry> entry = waitlistService.join(user.getUserId(), train.getTrainId(),
+                    DEFAULT_TRAVEL_DATE, priority);
+            if (entry.isEmpty()) {
+                System.out.println("You are already on the waitlist for this train");
+                return Optional.empty();
+            }
+            System.out.println("Added to waitlist, " + waitlistService.size(train.getTrainId(), DEFAULT_TRAVEL_DATE)
+                    + " passengers waiting");
+            return entry;
+        }
+    }
+
+    // Takes the logged-in user off the waitlist of a train
+    public boolean leaveWaitlist(Train train) {
+        return leaveWaitlist(user, train);
+    }
+
+    /**
+     * Takes the given user off the waitlist of a train. Returns false if the user wasn't waiting.
+     */
+    public boolean leaveWaitlist(User user, Train train) {
+        if (user == null) {
+            System.out.println("Please login first!");
+            return false;
+        }
+        if (!waitlistService.leave(user.getUserId(), train.getTrainId(), DEFAULT_TRAVEL_DATE)) {
+            System.out.println("You are not on the waitlist for this train");
+            return false;
+        }
+        System.out.println("Removed from the waitlist of train " + train.getTrainId());
+        return true;
+    }
+
+    // Creates a ticket for a booked seat and adds it to the user's booking list
+    private Ticket issueTicket(User owner, Train train, int row, int seat, String dateOfTravel, Double fare) {
+        Ticket ticket = new Ticket();
+        ticket.setSource(train.getStations().getFirst());
+        ticket.setDestination(train.getStations().getLast());
+        ticket.setTrain(train);
+        ticket.setUserId(owner.getUserId());
+        ticket.setDateOfTravel(dateOfTravel);
+        ticket.setTicketId(UserServiceUtil.generateTicketId());
+        ticket.setSeatRow(row);
+        ticket.setSeatColumn(seat);
+        ticket.setFare(fare);
+
+        owner.getTicketsBooked().add(ticket);
+        return ticket;
+    }
+
     /**
      * Authenticates user by matching username and password.
      */
     public boolean loginUser(String username, String plainPassword) {
-        Optional<User> matchedUser = userList.stream()
-                .filter(u -> u.getUsername().equals(username)
-                        && UserServiceUtil.checkPassword(plainPassword, u.getHashedPassword()))
-                .findFirst();
+        Optional<User> matchedUser = authenticate(username, plainPassword);
 
         if (matchedUser.isPresent()) {
             this.user = matchedUser.get();
@@ -187,4 +394,13 @@ public class UserBookingService {
             return false;
         }
     }
+
+    /**
+     * Returns the user matching username and password without making it the logged-in user,
+     * so concurrent callers (e.g. the load generator) can share one service.
+     */
+    public Optional<User> authenticate(String username, String plainPassword) {
+        return getUserByUsername(username)
+                .filter(u -> UserServiceUtil.checkPassword(plainPassword, u.getHashedPassword()));
+    }
 }
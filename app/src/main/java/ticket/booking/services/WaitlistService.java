@@ -0,0 +1,97 @@
+// WaitlistService.java
+package ticket.booking.services;
+
+import ticket.booking.entities.WaitlistEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Keeps one priority-ordered waitlist per (train, travel date).
+ * Joining, leaving and promoting are O(log n) in the size of that waitlist and
+ * sizes are O(1). A user's place in the queue isn't offered, since finding it
+ * in O(log n) would need an order-statistic tree.
+ * A user holds at most one place on each waitlist.
+ * Waitlists live in memory only and are empty again after a restart.
+ */
+public class WaitlistService {
+
+    private final Map<String, Waitlist> waitlists = new HashMap<>();
+    private long nextSequence = 0;
+
+    /**
+     * Adds a user to the waitlist of a train for a travel date.
+     * Returns empty if the user is already waiting for that train and date.
+     */
+    public synchronized Optional<WaitlistEntry> join(String userId, String trainId, String dateOfTravel, int priority) {
+        Waitlist waitlist = waitlists.computeIfAbsent(key(trainId, dateOfTravel), k -> new Waitlist());
+        if (waitlist.byUser.containsKey(userId)) {
+            return Optional.empty();
+        }
+
+        WaitlistEntry entry = new WaitlistEntry(userId, trainId, dateOfTravel, priority, nextSequence++);
+        waitlist.queue.add(entry);
+        waitlist.byUser.put(userId, entry);
+        return Optional.of(entry);
+    }
+
+    /**
+     * Removes a user from the waitlist of a train for a travel date.
+     * Returns false if the user wasn't waiting.
+     */
+    public synchronized boolean leave(String userId, String trainId, String dateOfTravel) {
+        String key = key(trainId, dateOfTravel);
+        Waitlist waitlist = waitlists.get(key);
+        if (waitlist == null) {
+            return false;
+        }
+
+        WaitlistEntry entry = waitlist.byUser.remove(userId);
+        if (entry == null) {
+            return false;
+        }
+        waitlist.queue.remove(entry);
+        if (waitlist.queue.isEmpty()) {
+            waitlists.remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Removes and returns the head of the waitlist, if anyone is waiting.
+     */
+    public synchronized Optional<WaitlistEntry> promoteNext(String trainId, String dateOfTravel) {
+        String key = key(trainId, dateOfTravel);
+        Waitlist waitlist = waitlists.get(key);
+        if (waitlist == null) {
+            return Optional.empty();
+        }
+
+        WaitlistEntry head = waitlist.queue.pollFirst();
+        if (head != null) {
+            waitlist.byUser.remove(head.getUserId());
+        }
+        if (waitlist.queue.isEmpty()) {
+            waitlists.remove(key);
+        }
+        return Optional.ofNullable(head);
+    }
+
+    // Returns how many users are waiting for a train on a travel date
+    public synchronized int size(String trainId, String dateOfTravel) {
+        Waitlist waitlist = waitlists.get(key(trainId, dateOfTravel));
+        return waitlist == null ? 0 : waitlist.queue.size();
+    }
+
+    private static String key(String trainId, String dateOfTravel) {
+        return trainId.toLowerCase() + "|" + dateOfTravel;
+    }
+
+    // Entries in promotion order, plus each user's entry so duplicates and leaves are found directly
+    private static final class Waitlist {
+        private final TreeSet<WaitlistEntry> queue = new TreeSet<>();
+        private final Map<String, WaitlistEntry> byUser = new HashMap<>();
+    }
+}
@@ -3,11 +3,15 @@ package ticket.booking.util;
 
 import org.mindrot.jbcrypt.BCrypt;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Utility class for user-related operations such as password hashing and ticket ID generation.
  */
 public class UserServiceUtil {
 
+    private static final AtomicLong TICKET_SEQUENCE = new AtomicLong();
+
     /**
      * Hashes a plain-text password using BCrypt.
      */
@@ -15,6 +19,13 @@ public class UserServiceUtil {
         return BCrypt.hashpw(plainPassword, BCrypt.gensalt());
     }
 
+    /**
+     * Hashes a plain-text password using BCrypt with the given cost factor.
+     */
+    public static String hashPassword(String plainPassword, int logRounds) {
+        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(logRounds));
+    }
+
     /**
      * Checks if the plain-text password matches the hashed password.
      */
@@ -23,9 +34,10 @@ public class UserServiceUtil {
     }
 
     /**
-     * Generates a unique ticket ID using the current timestamp.
+     * Generates a unique ticket ID using the current timestamp and a sequence number,
+     * so tickets issued within the same millisecond don't collide.
      */
     public static String generateTicketId() {
-        return String.valueOf(System.currentTimeMillis());
+        return System.currentTimeMillis() + "-" + TICKET_SEQUENCE.incrementAndGet();
     }
 }
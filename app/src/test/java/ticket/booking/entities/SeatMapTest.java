@@ -0,0 +1,54 @@
+// SeatMapTest.java
+package ticket.booking.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the free and total seat counts kept by a seat snapshot.
+ */
+public class SeatMapTest {
+
+    private final SeatMap initial = SeatMap.of(List.of(List.of(0, 1, 0), List.of(0, 0)));
+
+    @Test
+    public void countsFreeAndTotalSeatsOfRaggedRows() {
+        assertEquals(4, initial.getFreeSeatCount());
+        assertEquals(5, initial.getTotalSeatCount());
+    }
+
+    @Test
+    public void bookingAFreeSeatLowersFreeCountOnly() {
+        SeatMap next = initial.withSeat(1, 0, SeatMap.BOOKED);
+
+        assertEquals(3, next.getFreeSeatCount());
+        assertEquals(5, next.getTotalSeatCount());
+        assertEquals(SeatMap.BOOKED, next.getSeat(1, 0));
+    }
+
+    @Test
+    public void releasingABookedSeatRaisesFreeCount() {
+        SeatMap next = initial.withSeat(0, 1, SeatMap.FREE);
+
+        assertEquals(5, next.getFreeSeatCount());
+        assertEquals(5, next.getTotalSeatCount());
+    }
+
+    @Test
+    public void rewritingTheSameStatusKeepsCounts() {
+        assertEquals(4, initial.withSeat(0, 0, SeatMap.FREE).getFreeSeatCount());
+        assertEquals(4, initial.withSeat(0, 1, SeatMap.BOOKED).getFreeSeatCount());
+    }
+
+    @Test
+    public void nullLayoutIsEmpty() {
+        SeatMap empty = SeatMap.of(null);
+
+        assertEquals(0, empty.getTotalSeatCount());
+        assertEquals(0, empty.getFreeSeatCount());
+        assertFalse(empty.isValidSeat(0, 0));
+    }
+}
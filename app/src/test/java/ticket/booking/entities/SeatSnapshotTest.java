@@ -0,0 +1,78 @@
+// SeatSnapshotTest.java
+package ticket.booking.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that seat snapshots are immutable and versioned, and that a train
+ * replaces its snapshot only under its own lock.
+ */
+public class SeatSnapshotTest {
+
+    private final SeatMap initial = SeatMap.of(List.of(List.of(0, 1, 0), List.of(0, 0)));
+
+    @Test
+    public void everyWriteBumpsTheVersion() {
+        SeatMap booked = initial.withSeat(1, 0, SeatMap.BOOKED);
+        SeatMap released = booked.withSeat(1, 0, SeatMap.FREE);
+
+        assertEquals(0, initial.getVersion());
+        assertEquals(1, booked.getVersion());
+        assertEquals(2, released.getVersion());
+    }
+
+    @Test
+    public void previousSnapshotIsUnchanged() {
+        initial.withSeat(0, 0, SeatMap.BOOKED);
+
+        assertEquals(SeatMap.FREE, initial.getSeat(0, 0));
+        assertEquals(4, initial.getFreeSeatCount());
+        assertEquals(List.of(List.of(0, 1, 0), List.of(0, 0)), initial.asList());
+    }
+
+    @Test
+    public void listViewIsReadOnly() {
+        List<List<Integer>> view = initial.asList();
+
+        assertThrows(UnsupportedOperationException.class, () -> view.get(0).set(0, SeatMap.BOOKED));
+        assertEquals(SeatMap.FREE, initial.getSeat(0, 0));
+    }
+
+    @Test
+    public void compareAndSetSeatPublishesANewSnapshot() {
+        Train train = train();
+        SeatMap before = train.getSeatMap();
+
+        assertTrue(train.compareAndSetSeat(0, 0, SeatMap.FREE, SeatMap.BOOKED));
+        assertFalse(train.compareAndSetSeat(0, 0, SeatMap.FREE, SeatMap.BOOKED));
+        assertEquals(SeatMap.FREE, before.getSeat(0, 0));
+        assertEquals(SeatMap.BOOKED, train.getSeatMap().getSeat(0, 0));
+    }
+
+    @Test
+    public void setSeatsWaitsForTheTrainLock() throws Exception {
+        Train train = train();
+        Thread writer = new Thread(() -> train.setSeats(List.of(List.of(1, 1))));
+
+        synchronized (train) {
+            writer.start();
+            while (writer.getState() != Thread.State.BLOCKED && writer.isAlive()) {
+                Thread.sleep(1);
+            }
+            assertEquals(Thread.State.BLOCKED, writer.getState()); // Can't interleave with compareAndSetSeat
+            assertEquals(3, train.getSeatMap().getTotalSeatCount());
+        }
+        writer.join();
+        assertEquals(List.of(List.of(1, 1)), train.getSeats());
+    }
+
+    private static Train train() {
+        return new Train("exp001", "12001", List.of(List.of(0, 0, 0)),
+                Map.of("Pune", "06:00", "Mumbai", "09:00"), List.of("Pune", "Mumbai"));
+    }
+}
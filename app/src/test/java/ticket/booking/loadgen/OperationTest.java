@@ -0,0 +1,42 @@
+// OperationTest.java
+package ticket.booking.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the trace line format of workload operations.
+ */
+public class OperationTest {
+
+    @Test
+    public void traceLineRoundTrips() {
+        Operation book = new Operation(3, Operation.Type.BOOK, "user-7", "exp001", "2", "5");
+
+        Operation parsed = Operation.fromTraceLine(book.toTraceLine());
+
+        assertEquals("3\tBOOK\tuser-7\texp001\t2\t5", book.toTraceLine());
+        assertEquals(3, parsed.getWorker());
+        assertEquals(Operation.Type.BOOK, parsed.getType());
+        assertEquals("exp001", parsed.getArg(1));
+        assertEquals("5", parsed.getArg(3));
+        assertEquals(book.toTraceLine(), parsed.toTraceLine());
+    }
+
+    @Test
+    public void argumentsMayContainSpaces() {
+        Operation search = new Operation(0, Operation.Type.SEARCH, "New Delhi", "Agra Cantt");
+
+        Operation parsed = Operation.fromTraceLine(search.toTraceLine());
+
+        assertEquals("New Delhi", parsed.getArg(0));
+        assertEquals("Agra Cantt", parsed.getArg(1));
+    }
+
+    @Test
+    public void rejectsMalformedLines() {
+        assertThrows(IllegalArgumentException.class, () -> Operation.fromTraceLine("3"));
+        assertThrows(IllegalArgumentException.class, () -> Operation.fromTraceLine("3\tFLY"));
+    }
+}
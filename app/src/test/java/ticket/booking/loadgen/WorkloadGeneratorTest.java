@@ -0,0 +1,69 @@
+// WorkloadGeneratorTest.java
+package ticket.booking.loadgen;
+
+import org.junit.jupiter.api.Test;
+import ticket.booking.entities.Train;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that workloads are reproducible from their seed and respect worker ownership of users.
+ */
+public class WorkloadGeneratorTest {
+
+    private static final int WORKERS = 3;
+
+    private final WorkloadGenerator generator = new WorkloadGenerator(
+            List.of(train("exp001", "Pune", "Nashik", "Mumbai"), train("exp002", "Delhi", "Agra")),
+            List.of("u0", "u1", "u2", "u3", "u4", "u5", "u6"), WORKERS, new int[] {40, 20, 30, 10}, 1.0);
+
+    @Test
+    public void sameSeedYieldsIdenticalOperations() {
+        assertEquals(traceOf(generator.generate(500, 99)), traceOf(generator.generate(500, 99)));
+    }
+
+    @Test
+    public void differentSeedsYieldDifferentOperations() {
+        assertNotEquals(traceOf(generator.generate(500, 1)), traceOf(generator.generate(500, 2)));
+    }
+
+    @Test
+    public void eachUserBelongsToOneWorker() {
+        Map<String, Integer> owners = new HashMap<>();
+        for (Operation operation : generator.generate(2000, 5)) {
+            if (operation.getType() == Operation.Type.SEARCH) {
+                continue;
+            }
+            Integer owner = owners.putIfAbsent(operation.getArg(0), operation.getWorker());
+            assertTrue(owner == null || owner == operation.getWorker(),
+                    operation.getArg(0) + " used by workers " + owner + " and " + operation.getWorker());
+        }
+    }
+
+    @Test
+    public void operationsOnlyReferenceExistingRoutesAndSeats() {
+        for (Operation operation : generator.generate(2000, 11)) {
+            if (operation.getType() == Operation.Type.SEARCH) {
+                boolean served = (operation.getArg(0).equals("Delhi") && operation.getArg(1).equals("Agra"))
+                        || List.of("Pune-Nashik", "Pune-Mumbai", "Nashik-Mumbai")
+                                .contains(operation.getArg(0) + "-" + operation.getArg(1));
+                assertTrue(served, operation.toTraceLine());
+            } else if (operation.getType() == Operation.Type.BOOK) {
+                assertTrue(Integer.parseInt(operation.getArg(2)) < 2, operation.toTraceLine());
+                assertTrue(Integer.parseInt(operation.getArg(3)) < 3, operation.toTraceLine());
+            }
+        }
+    }
+
+    private static List<String> traceOf(List<Operation> operations) {
+        return operations.stream().map(Operation::toTraceLine).toList();
+    }
+
+    private static Train train(String trainId, String... stations) {
+        return new Train(trainId, "12001", List.of(List.of(0, 0, 0), List.of(0, 0, 0)), Map.of(), List.of(stations));
+    }
+}
@@ -0,0 +1,63 @@
+// ZipfianGeneratorTest.java
+package ticket.booking.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the skewed rank distribution used to pick hot trains.
+ */
+public class ZipfianGeneratorTest {
+
+    @Test
+    public void ranksStayInRangeAndRankZeroIsHottest() {
+        int itemCount = 50;
+        ZipfianGenerator generator = new ZipfianGenerator(itemCount, 1.0);
+        Random random = new Random(42);
+        int[] counts = new int[itemCount];
+
+        for (int i = 0; i < 100_000; i++) {
+            int rank = generator.next(random);
+            assertTrue(rank >= 0 && rank < itemCount, "rank " + rank + " out of range");
+            counts[rank]++;
+        }
+
+        for (int rank = 1; rank < itemCount; rank++) {
+            assertTrue(counts[0] > counts[rank], "rank " + rank + " drawn more often than rank 0");
+        }
+        assertTrue(counts[0] > counts[itemCount - 1] * 10);
+    }
+
+    @Test
+    public void zeroSkewIsRoughlyUniform() {
+        ZipfianGenerator generator = new ZipfianGenerator(4, 0.0);
+        Random random = new Random(7);
+        int[] counts = new int[4];
+
+        for (int i = 0; i < 40_000; i++) {
+            counts[generator.next(random)]++;
+        }
+
+        for (int count : counts) {
+            assertTrue(Math.abs(count - 10_000) < 500, "count " + count + " too far from uniform");
+        }
+    }
+
+    @Test
+    public void singleItemAlwaysDrawsRankZero() {
+        ZipfianGenerator generator = new ZipfianGenerator(1, 1.2);
+        Random random = new Random(1);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, generator.next(random));
+        }
+    }
+
+    @Test
+    public void rejectsEmptyItemSet() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianGenerator(0, 1.0));
+    }
+}
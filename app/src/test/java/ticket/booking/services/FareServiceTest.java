@@ -0,0 +1,129 @@
+// FareServiceTest.java
+package ticket.booking.services;
+
+import org.junit.jupiter.api.Test;
+import ticket.booking.entities.FareClass;
+import ticket.booking.entities.FareQuote;
+import ticket.booking.entities.Quota;
+import ticket.booking.entities.SeatMap;
+import ticket.booking.entities.Train;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for prefix-table fares, the minimum leg charge and the seat-based surge.
+ */
+public class FareServiceTest {
+
+    private static final double DELTA = 1e-9;
+
+    private final FareService fareService = new FareService();
+
+    @Test
+    public void subrouteFareIsDifferenceOfCumulativeFares() {
+        // Legs of 100 km and 250 km at 0.6 per km: cumulative fares 0, 60, 210
+        Train train = train(List.of(List.of(0, 0)), Map.of("Pune", 0, "Nashik", 100, "Mumbai", 350));
+
+        assertEquals(60.0, quote(train, "Pune", "Nashik").getBaseFare(), DELTA);
+        assertEquals(150.0, quote(train, "Nashik", "Mumbai").getBaseFare(), DELTA);
+        assertEquals(210.0, quote(train, "Pune", "Mumbai").getBaseFare(), DELTA);
+        assertEquals(250, quote(train, "Nashik", "Mumbai").getDistanceKm());
+    }
+
+    @Test
+    public void shortLegPaysMinimumCharge() {
+        // 10 km would cost 6.00, the minimum leg charge is 15.00
+        Train train = train(List.of(List.of(0, 0)), Map.of("Pune", 0, "Nashik", 10, "Mumbai", 110));
+
+        assertEquals(15.0, quote(train, "Pune", "Nashik").getBaseFare(), DELTA);
+        assertEquals(75.0, quote(train, "Pune", "Mumbai").getBaseFare(), DELTA);
+        assertEquals(60.0, quote(train, "Nashik", "Mumbai").getBaseFare(), DELTA);
+    }
+
+    @Test
+    public void classAndQuotaMultiplyTheBaseFare() {
+        Train train = train(List.of(List.of(0, 0)), Map.of("Pune", 0, "Nashik", 100, "Mumbai", 350));
+
+        FareQuote quote = fareService.quote(train, "Pune", "Nashik", FareClass.AC_THREE_TIER, Quota.TATKAL);
+        assertEquals(60.0 * 2.5 * 1.3, quote.getFare(), 0.005);
+    }
+
+    @Test
+    public void reverseOrUnknownJourneyHasNoQuote() {
+        Train train = train(List.of(List.of(0, 0)), Map.of("Pune", 0, "Nashik", 100, "Mumbai", 350));
+
+        assertNull(quote(train, "Mumbai", "Pune"));
+        assertNull(quote(train, "Pune", "Delhi"));
+        assertNull(quote(train, "Pune", "Pune"));
+    }
+
+    @Test
+    public void distanceIsEstimatedFromTimesAcrossMidnight() {
+        Train train = new Train("exp009", "12009", List.of(List.of(0)),
+                Map.of("Pune", "23:30", "Nashik", "00:30", "Mumbai", "02:30"), List.of("Pune", "Nashik", "Mumbai"));
+
+        assertEquals(60, quote(train, "Pune", "Nashik").getDistanceKm());
+        assertEquals(180, quote(train, "Pune", "Mumbai").getDistanceKm());
+    }
+
+    @Test
+    public void surgeStartsBelowHalfFreeAndPeaksWhenFull() {
+        Train train = train(List.of(List.of(0, 0, 0, 0)), Map.of("Pune", 0, "Mumbai", 100));
+        assertEquals(1.0, fareService.surgeMultiplier(train), DELTA);
+
+        bookSeats(train, 2);   // Half free: still no surge
+        assertEquals(1.0, fareService.surgeMultiplier(train), DELTA);
+
+        bookSeats(train, 1);   // A quarter free: halfway up the curve
+        assertEquals(1.25, fareService.surgeMultiplier(train), DELTA);
+
+        bookSeats(train, 1);   // Sold out: maximum surge
+        assertEquals(1.5, fareService.surgeMultiplier(train), DELTA);
+        assertEquals(1.5, quote(train, "Pune", "Mumbai").getSurgeMultiplier(), DELTA);
+        assertEquals(90.0, quote(train, "Pune", "Mumbai").getFare(), DELTA);
+    }
+
+    @Test
+    public void quoteCanUseAnotherSeatSnapshotForSurge() {
+        Train train = train(List.of(List.of(0, 0)), Map.of("Pune", 0, "Mumbai", 100));
+        bookSeats(train, 2);
+        SeatMap oneFree = train.getSeatMap().withSeat(0, 0, SeatMap.FREE);
+
+        FareQuote quote = fareService.quote(train, oneFree, "Pune", "Mumbai", FareClass.SLEEPER, Quota.GENERAL);
+
+        assertEquals(1.0, quote.getSurgeMultiplier(), DELTA);
+        assertEquals(1.5, quote(train, "Pune", "Mumbai").getSurgeMultiplier(), DELTA);
+    }
+
+    @Test
+    public void trainWithoutSeatsHasNoSurge() {
+        Train train = train(List.of(), Map.of("Pune", 0, "Mumbai", 100));
+
+        assertEquals(1.0, fareService.surgeMultiplier(train), DELTA);
+    }
+
+    private FareQuote quote(Train train, String source, String destination) {
+        return fareService.quote(train, source, destination, FareClass.SLEEPER, Quota.GENERAL);
+    }
+
+    private static void bookSeats(Train train, int count) {
+        SeatMap seatMap = train.getSeatMap();
+        for (int seat = 0; seat < seatMap.getSeatCount(0) && count > 0; seat++) {
+            if (train.compareAndSetSeat(0, seat, SeatMap.FREE, SeatMap.BOOKED)) {
+                count--;
+            }
+        }
+    }
+
+    private static Train train(List<List<Integer>> seats, Map<String, Integer> distances) {
+        List<String> stations = distances.keySet().stream()
+                .sorted((a, b) -> Integer.compare(distances.get(a), distances.get(b)))
+                .toList();
+        Train train = new Train("exp001", "12001", seats, Map.of(), stations);
+        train.setStationDistances(distances);
+        return train;
+    }
+}
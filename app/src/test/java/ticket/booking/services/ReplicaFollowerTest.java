@@ -0,0 +1,250 @@
+// ReplicaFollowerTest.java
+package ticket.booking.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ticket.booking.entities.Train;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that a replica bootstrapped from a snapshot catches up with the change log,
+ * including lines that are still being written or were cut short by a crash.
+ */
+public class ReplicaFollowerTest {
+
+    private static final long NO_STALENESS_BOUND = Long.MAX_VALUE;
+
+    @TempDir
+    Path tempDir;
+
+    private File streamDir;
+    private Path logFile;
+    private TrainService primary;
+    private Train train;
+
+    @BeforeEach
+    public void setUp() {
+        streamDir = tempDir.toFile();
+        logFile = tempDir.resolve(ChangeStreamPublisher.LOG_FILE);
+        train = new Train("exp001", "12001", List.of(List.of(0, 0, 0)),
+                Map.of("Pune", "06:00", "Mumbai", "09:00"), List.of("Pune", "Mumbai"));
+        primary = new TrainService(List.of(train));
+    }
+
+    @Test
+    public void bootstrapsFromSnapshotAndAppliesLaterChangesOnly() throws Exception {
+        try (ChangeStreamPublisher publisher = new ChangeStreamPublisher(streamDir)) {
+            primary.setChangeListener(publisher);
+            primary.bookTickets(train, 0, 0);           // Before the snapshot: must not be applied twice
+            primary.releaseSeat("exp001", 0, 0);
+            primary.bookTickets(train, 0, 0);
+            publisher.writeSnapshot(primary.getAllTrains());
+            primary.bookTickets(train, 0, 1);           // After the snapshot: replayed from the log
+
+            try (ReplicaFollower replica = new ReplicaFollower(streamDir, NO_STALENESS_BOUND)) {
+                assertEquals(4, replica.getNextOffset());
+                assertEquals(Optional.of(1), replica.getAvailableSeatCount("exp001"));
+                assertEquals(1, replica.searchTrains("Pune", "Mumbai", null).size());
+            }
+        }
+    }
+
+    @Test
+    public void partialLastLineIsAppliedOnceComplete() throws Exception {
+        try (ChangeStreamPublisher publisher = new ChangeStreamPublisher(streamDir)) {
+            primary.setChangeListener(publisher);
+            publisher.writeSnapshot(primary.getAllTrains());
+
+            try (ReplicaFollower replica = new ReplicaFollower(streamDir, NO_STALENESS_BOUND)) {
+                primary.bookTickets(train, 0, 0);
+                byte[] event = Files.readAllBytes(logFile);  // The only event so far
+                Files.write(logFile, Arrays.copyOf(event, event.length / 2)); // Only half of it reached the disk
+
+                replica.catchUp();
+                assertEquals(0, replica.getNextOffset());
+                assertEquals(Optional.of(3), replica.getAvailableSeatCount("exp001"));
+
+                Files.write(logFile, Arrays.copyOfRange(event, event.length / 2, event.length),
+                        StandardOpenOption.APPEND);
+                replica.catchUp();
+                assertEquals(1, replica.getNextOffset());
+                assertEquals(Optional.of(2), replica.getAvailableSeatCount("exp001"));
+            }
+        }
+    }
+
+    @Test
+    public void reopenedPublisherDropsTornLastLine() throws Exception {
+        try (ChangeStreamPublisher publisher = new ChangeStreamPublisher(streamDir)) {
+            primary.setChangeListener(publisher);
+            publisher.writeSnapshot(primary.getAllTrains());
+            primary.bookTickets(train, 0, 0);
+        }
+        long intactLength = Files.size(logFile);
+        append("{\"offset\":1,\"type\":\"SEAT_BO"); // Crash in the middle of a write
+
+        try (ChangeStreamPublisher publisher = new ChangeStreamPublisher(streamDir)) {
+            assertEquals(intactLength, Files.size(logFile));
+            primary.setChangeListener(publisher);
+            primary.bookTickets(train, 0, 1);        // Continues with offset 1 right after the intact event
+        }
+
+        try (ReplicaFollower replica = new ReplicaFollower(streamDir, NO_STALENESS_BOUND)) {
+            assertEquals(2, replica.getNextOffset());
+            assertEquals(Optional.of(1), replica.getAvailableSeatCount("exp001"));
+            assertFalse(replica.isFailed());
+        }
+    }
+
+    @Test
+    public void unreadableLineFailsTheReplica() throws Exception {
+        try (ChangeStreamPublisher publisher = new ChangeStreamPublisher(streamDir)) {
+            primary.setChangeListener(publisher);
+            publisher.writeSnapshot(primary.getAllTrains());
+            primary.bookTickets(train, 0, 0);
+        }
+
+        try (ReplicaFollower replica = new ReplicaFollower(streamDir, NO_STALENESS_BOUND)) {
+            append("not json\n");
+
+            assertThrows(IOException.class, replica::catchUp);
+            assertTrue(replica.isFailed());
+            assertEquals(1, replica.getNextOffset()); // The change before the bad line was kept
+            assertThrows(ReplicaUnavailableException.class, () -> replica.searchTrains("Pune", "Mumbai", null));
+            assertThrows(ReplicaUnavailableException.class, () -> replica.getAvailableSeatCount("exp001"));
+        }
+    }
+
+    @Test
+    public void missingChangeFailsTheReplica() throws Exception {
+        try (ChangeStreamPublisher publisher = new ChangeStreamPublisher(streamDir)) {
+            primary.setChangeListener(publisher);
+            publisher.writeSnapshot(primary.getAllTrains());
+        }
+
+        try (ReplicaFollower replica = new ReplicaFollower(streamDir, NO_STALENESS_BOUND)) {
+            append("{\"offset\":5,\"type\":\"SEAT_BOOKED\",\"train_id\":\"exp001\",\"row\":0,\"seat\":0}\n");
+
+            assertThrows(IOException.class, replica::catchUp);
+            assertTrue(replica.isFailed());
+        }
+    }
+
+    @Test
+    public void emptyResultMeansNoTrainsOnAHealthyReplica() throws Exception {
+        try (ChangeStreamPublisher publisher = new ChangeStreamPublisher(streamDir)) {
+            publisher.writeSnapshot(primary.getAllTrains());
+        }
+
+        try (ReplicaFollower replica = new ReplicaFollower(streamDir, NO_STALENESS_BOUND)) {
+            assertTrue(replica.searchTrains("Mumbai", "Pune", null).isEmpty());
+            assertTrue(replica.getAvailableSeatCount("exp404").isEmpty());
+        }
+    }
+
+    @Test
+    public void staleReplicaThrowsUntilTheLogIsReadableAgain() throws Exception {
+        try (ChangeStreamPublisher publisher = new ChangeStreamPublisher(streamDir)) {
+            publisher.writeSnapshot(primary.getAllTrains());
+        }
+        Files.delete(logFile);
+
+        try (ReplicaFollower replica = new ReplicaFollower(streamDir, 0)) {
+            Files.createDirectory(logFile);          // Log can't be opened, so the replica can't catch up
+            Thread.sleep(5);
+            assertThrows(ReplicaUnavailableException.class, () -> replica.searchTrains("Pune", "Mumbai", null));
+            assertFalse(replica.isFailed());
+
+            Files.delete(logFile);
+            assertEquals(1, replica.searchTrains("Pune", "Mumbai", null).size());
+        }
+    }
+
+    @Test
+    public void catchesUpWithALogLongerThanOneReadChunk() throws Exception {
+        Train big = new Train("exp002", "12002", grid(40, 50),
+                Map.of("Pune", "07:00", "Nashik", "11:00"), List.of("Pune", "Nashik"));
+        primary.addTrain(big);
+        try (ChangeStreamPublisher publisher = new ChangeStreamPublisher(streamDir)) {
+            primary.setChangeListener(publisher);
+            publisher.writeSnapshot(primary.getAllTrains());
+            for (int row = 0; row < 40; row++) {
+                for (int seat = 0; seat < 50; seat++) {
+                    primary.bookTickets(big, row, seat);
+                }
+            }
+            assertTrue(Files.size(logFile) > 2 * 64 * 1024);
+
+            try (ReplicaFollower replica = new ReplicaFollower(streamDir, NO_STALENESS_BOUND)) {
+                assertEquals(2000, replica.getNextOffset());
+                assertEquals(Optional.of(0), replica.getAvailableSeatCount("exp002"));
+            }
+        }
+    }
+
+    @Test
+    public void appliesASingleChangeLargerThanOneReadChunk() throws Exception {
+        try (ChangeStreamPublisher publisher = new ChangeStreamPublisher(streamDir)) {
+            primary.setChangeListener(publisher);
+            publisher.writeSnapshot(primary.getAllTrains());
+            primary.addTrain(new Train("exp003", "12003", grid(200, 200),
+                    Map.of("Pune", "08:00", "Goa", "18:00"), List.of("Pune", "Goa")));
+            assertTrue(Files.size(logFile) > 64 * 1024);
+
+            try (ReplicaFollower replica = new ReplicaFollower(streamDir, NO_STALENESS_BOUND)) {
+                assertEquals(1, replica.getNextOffset());
+                assertEquals(Optional.of(40000), replica.getAvailableSeatCount("exp003"));
+            }
+        }
+    }
+
+    @Test
+    public void scheduledSnapshotMovesTheBootstrapPointForward() throws Exception {
+        try (ChangeStreamPublisher publisher = new ChangeStreamPublisher(streamDir)) {
+            primary.setChangeListener(publisher);
+            publisher.writeSnapshot(primary.getAllTrains());
+            primary.bookTickets(train, 0, 0);
+            publisher.scheduleSnapshots(primary, 10);
+
+            Path snapshotFile = tempDir.resolve(ChangeStreamPublisher.SNAPSHOT_FILE);
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!Files.readString(snapshotFile).contains("\"next_offset\":1")
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+        // The booking is in the snapshot now, so the log before it is never read again
+        Files.write(logFile, new byte[(int) Files.size(logFile)]);
+
+        try (ReplicaFollower replica = new ReplicaFollower(streamDir, NO_STALENESS_BOUND)) {
+            assertEquals(1, replica.getNextOffset());
+            assertEquals(Optional.of(2), replica.getAvailableSeatCount("exp001"));
+        }
+    }
+
+    private static List<List<Integer>> grid(int rows, int seatsPerRow) {
+        List<List<Integer>> seats = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            seats.add(new ArrayList<>(Collections.nCopies(seatsPerRow, 0)));
+        }
+        return seats;
+    }
+
+    private void append(String text) throws IOException {
+        Files.writeString(logFile, text, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,177 @@
+// TimetableImporterTest.java
+package ticket.booking.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ticket.booking.entities.SeatMap;
+import ticket.booking.entities.Train;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests bulk timetable imports: both file formats, validation, repeated trains
+ * and what happens to the seats of trains that are already in service.
+ */
+public class TimetableImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TrainService trainService;
+    private TimetableImporter importer;
+
+    @BeforeEach
+    public void setUp() {
+        trainService = new TrainService(List.of(train("exp001", "06:00", "09:00")));
+        importer = new TimetableImporter(trainService);
+    }
+
+    @Test
+    public void importsJsonArray() throws IOException {
+        TimetableImporter.Result result = importer.importFile(write("""
+                [
+                  {"train_id": "exp002", "train_no": "12002", "seats": [[0, 0], [0, 1]],
+                   "stations": ["Delhi", "Agra"], "station_times": {"Delhi": "07:00", "Agra": "10:00"}},
+                  {"train_id": "exp003", "train_no": "12003", "seats": [[0]],
+                   "stations": ["Chennai", "Mysore"], "station_times": {"Chennai": "05:00", "Mysore": "12:00"},
+                   "station_distances": {"Chennai": 0, "Mysore": 495}}
+                ]
+                """));
+
+        assertEquals(2, result.getAdded());
+        assertEquals(0, result.getUpdated());
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(3, trainService.findTrainById("exp002").get().getSeatMap().getFreeSeatCount());
+        assertEquals(Integer.valueOf(495), trainService.findTrainById("exp003").get().getStationDistances().get("Mysore"));
+    }
+
+    @Test
+    public void importsJsonLinesAndReportsBadEntries() throws IOException {
+        TimetableImporter.Result result = importer.importFile(write("""
+                {"train_id": "exp002", "seats": [[0]], "stations": ["Delhi", "Agra"], "station_times": {"Delhi": "07:00", "Agra": "10:00"}}
+
+                {"train_id": "exp003", "seats": [[0]], "stations": ["Delhi"], "station_times": {"Delhi": "07:00"}}
+                not json
+                """));
+
+        assertEquals(1, result.getAdded());
+        assertEquals(2, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("Entry 2 (exp003)"));
+        assertTrue(result.getErrors().get(1).startsWith("Entry 3"));
+    }
+
+    @Test
+    public void repeatedTrainIsImportedOnceWithTheLastEntry() throws IOException {
+        TimetableImporter.Result result = importer.importFile(write("""
+                [
+                  {"train_id": "exp002", "train_no": "first", "seats": [[0]], "stations": ["Delhi", "Agra"], "station_times": {"Delhi": "07:00", "Agra": "10:00"}},
+                  {"train_id": "EXP002", "train_no": "second", "seats": [[0]], "stations": ["Delhi", "Agra"], "station_times": {"Delhi": "08:00", "Agra": "11:00"}}
+                ]
+                """));
+
+        assertEquals(1, result.getAdded());
+        assertEquals(0, result.getUpdated());
+        assertEquals(1, result.getErrors().size());
+        assertEquals("second", trainService.findTrainById("exp002").get().getTrainNo());
+    }
+
+    @Test
+    public void existingTrainKeepsItsBookedSeats() throws IOException {
+        Train current = trainService.findTrainById("exp001").get();
+        assertTrue(trainService.bookTickets(current, 0, 1));
+
+        TimetableImporter.Result result = importer.importFile(write("""
+                [{"train_id": "exp001", "train_no": "12001", "seats": [[0, 0, 0, 0]],
+                  "stations": ["Pune", "Mumbai"], "station_times": {"Pune": "07:00", "Mumbai": "10:00"}}]
+                """));
+
+        assertEquals(0, result.getAdded());
+        assertEquals(1, result.getUpdated());
+        Train replaced = trainService.findTrainById("exp001").get();
+        assertEquals("07:00", replaced.getStationTimes().get("Pune"));
+        assertEquals(SeatMap.BOOKED, replaced.getSeatMap().getSeat(0, 1));
+        assertEquals(2, replaced.getSeatMap().getTotalSeatCount());
+        assertEquals(List.of("Train exp001: seat layout in the file ignored, 1 seats are booked"), result.getNotes());
+
+        // A booking through the replaced instance lands on the stored train
+        assertTrue(trainService.bookTickets(current, 0, 0));
+        assertEquals(0, replaced.getSeatMap().getFreeSeatCount());
+        assertEquals("07:00", trainService.findTrainById("exp001").get().getStationTimes().get("Pune"));
+    }
+
+    @Test
+    public void existingTrainWithoutBookingsTakesTheNewLayout() throws IOException {
+        TimetableImporter.Result result = importer.importFile(write("""
+                [{"train_id": "exp001", "train_no": "12001", "seats": [[0, 0, 0, 0]],
+                  "stations": ["Pune", "Mumbai"], "station_times": {"Pune": "07:00", "Mumbai": "10:00"}}]
+                """));
+
+        assertEquals(1, result.getUpdated());
+        assertTrue(result.getNotes().isEmpty());
+        assertEquals(4, trainService.findTrainById("exp001").get().getSeatMap().getTotalSeatCount());
+    }
+
+    @Test
+    public void trainWithoutAnySeatIsRejected() {
+        Train empty = new Train("exp013", "12013", List.of(List.of(), List.of()),
+                Map.of("Delhi", "07:00", "Agra", "10:00"), List.of("Delhi", "Agra"));
+
+        assertEquals(List.of("no seats"), TimetableImporter.validate(empty));
+    }
+
+    @Test
+    public void routeMayRunPastMidnight() {
+        Train overnight = new Train("exp010", "12010", List.of(List.of(0)),
+                Map.of("Delhi", "22:00", "Agra", "01:30", "Kanpur", "05:00"), List.of("Delhi", "Agra", "Kanpur"));
+
+        assertTrue(TimetableImporter.validate(overnight).isEmpty());
+    }
+
+    @Test
+    public void routeRunningMoreThanTwoDaysIsRejected() {
+        // Each leg goes backwards on the clock, so each one counts as 23 hours
+        Train endless = new Train("exp011", "12011", List.of(List.of(0)),
+                Map.of("A", "10:00", "B", "09:00", "C", "08:00", "D", "07:00"), List.of("A", "B", "C", "D"));
+
+        assertEquals(List.of("route runs longer than 48 hours"), TimetableImporter.validate(endless));
+    }
+
+    @Test
+    public void sameTimeAtConsecutiveStationsIsRejected() {
+        Train train = new Train("exp012", "12012", List.of(List.of(0)),
+                Map.of("Delhi", "07:00", "Agra", "07:00"), List.of("Delhi", "Agra"));
+
+        assertEquals(1, TimetableImporter.validate(train).size());
+    }
+
+    @Test
+    public void readersNeverSeeTheTrainListChange() {
+        List<Train> before = trainService.getAllTrains();
+
+        trainService.addTrain(train("exp002", "07:00", "10:00"));
+        trainService.updateTrain(train("exp001", "08:00", "11:00"));
+
+        assertEquals(1, before.size());
+        assertEquals("06:00", before.get(0).getStationTimes().get("Pune"));
+        assertEquals(2, trainService.getAllTrains().size());
+    }
+
+    private static Train train(String trainId, String departure, String arrival) {
+        return new Train(trainId, "12001", List.of(List.of(0, 0)),
+                Map.of("Pune", departure, "Mumbai", arrival), List.of("Pune", "Mumbai"));
+    }
+
+    private File write(String content) throws IOException {
+        Path file = Files.createTempFile(tempDir, "timetable", ".json");
+        Files.writeString(file, content);
+        return file.toFile();
+    }
+}
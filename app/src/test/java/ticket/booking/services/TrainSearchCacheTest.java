@@ -0,0 +1,148 @@
+// TrainSearchCacheTest.java
+package ticket.booking.services;
+
+import org.junit.jupiter.api.Test;
+import ticket.booking.entities.Train;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for route-based invalidation, LRU eviction and the statistics of the search cache.
+ */
+public class TrainSearchCacheTest {
+
+    private static final String DATE = "2021-09-01";
+
+    private final TrainSearchCache cache = new TrainSearchCache(3);
+
+    @Test
+    public void invalidateDropsOnlySearchesTheTrainServes() {
+        cache.put("Pune", "Mumbai", DATE, List.of());
+        cache.put("Nashik", "Mumbai", DATE, List.of());
+        cache.put("Delhi", "Agra", DATE, List.of());
+
+        cache.invalidate(train("exp001", "Pune", "Nashik", "Mumbai"));
+
+        assertNull(cache.get("Pune", "Mumbai", DATE));
+        assertNull(cache.get("Nashik", "Mumbai", DATE));
+        assertNotNull(cache.get("Delhi", "Agra", DATE));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void searchesInReverseStationOrderSurviveInvalidation() {
+        cache.put("Mumbai", "Pune", DATE, List.of());
+        cache.put("Mumbai", "Nashik", DATE, List.of());
+
+        cache.invalidate(train("exp001", "Pune", "Nashik", "Mumbai"));
+
+        assertNotNull(cache.get("Mumbai", "Pune", DATE));
+        assertNotNull(cache.get("Mumbai", "Nashik", DATE));
+    }
+
+    @Test
+    public void searchesWithOneStationOffTheRouteSurviveInvalidation() {
+        cache.put("Pune", "Delhi", DATE, List.of());
+
+        cache.invalidate(train("exp001", "Pune", "Nashik", "Mumbai"));
+
+        assertNotNull(cache.get("Pune", "Delhi", DATE));
+    }
+
+    @Test
+    public void invalidatedSourceIsReindexedOnNextPut() {
+        cache.put("Pune", "Mumbai", DATE, List.of());
+        cache.invalidate(train("exp001", "Pune", "Mumbai"));
+
+        cache.put("Pune", "Mumbai", DATE, List.of());
+        cache.invalidate(train("exp001", "Pune", "Mumbai"));
+
+        assertNull(cache.get("Pune", "Mumbai", DATE));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntry() {
+        cache.put("A", "B", DATE, List.of());
+        cache.put("B", "C", DATE, List.of());
+        cache.put("C", "D", DATE, List.of());
+        cache.get("A", "B", DATE);                 // A-B is now the most recently used
+
+        cache.put("D", "E", DATE, List.of());
+
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(3, cache.size());
+        assertNull(cache.get("B", "C", DATE));
+        assertNotNull(cache.get("A", "B", DATE));
+        assertNotNull(cache.get("C", "D", DATE));
+        assertNotNull(cache.get("D", "E", DATE));
+    }
+
+    @Test
+    public void evictedKeyIsNoLongerIndexed() {
+        cache.put("A", "B", DATE, List.of());
+        cache.put("B", "C", DATE, List.of());
+        cache.put("C", "D", DATE, List.of());
+        cache.put("D", "E", DATE, List.of());      // Evicts A-B
+
+        cache.invalidate(train("exp001", "A", "B"));
+
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void countsHitsAndMisses() {
+        cache.get("Pune", "Mumbai", DATE);
+        cache.put("Pune", "Mumbai", DATE, List.of());
+        cache.get("Pune", "Mumbai", DATE);
+        cache.get("Pune", "Mumbai", "2021-09-02");
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void putReturnsAnImmutableCopy() {
+        List<Train> result = new ArrayList<>(List.of(train("exp001", "Pune", "Mumbai")));
+
+        List<Train> cached = cache.put("Pune", "Mumbai", DATE, result);
+        result.clear();
+
+        assertEquals(1, cached.size());
+        assertSame(cached, cache.get("Pune", "Mumbai", DATE));
+        assertThrows(UnsupportedOperationException.class, () -> cached.add(train("exp002", "Pune", "Mumbai")));
+    }
+
+    @Test
+    public void addingAndUpdatingTrainsInvalidatesOnlyAffectedSearches() {
+        TrainService trainService = new TrainService(List.of(train("exp001", "Pune", "Nashik", "Mumbai"),
+                train("exp002", "Delhi", "Agra")));
+        trainService.searchTrains("Pune", "Mumbai", DATE);
+        trainService.searchTrains("Delhi", "Agra", DATE);
+        trainService.searchTrains("Mumbai", "Pune", DATE);
+        TrainSearchCache serviceCache = trainService.getSearchCache();
+
+        trainService.addTrain(train("exp003", "Nashik", "Mumbai"));
+        assertNotNull(serviceCache.get("Delhi", "Agra", DATE));
+        assertNotNull(serviceCache.get("Pune", "Mumbai", DATE));
+        assertNotNull(serviceCache.get("Mumbai", "Pune", DATE));
+
+        trainService.updateTrain(train("exp001", "Pune", "Mumbai"));
+        assertNull(serviceCache.get("Pune", "Mumbai", DATE));
+        assertNotNull(serviceCache.get("Delhi", "Agra", DATE));
+        assertNotNull(serviceCache.get("Mumbai", "Pune", DATE));
+
+        trainService.addTrain(train("exp004", "Agra", "Delhi", "Kanpur"));
+        assertNotNull(serviceCache.get("Delhi", "Agra", DATE)); // Reverse direction on exp004
+        assertEquals(1, trainService.searchTrains("Pune", "Mumbai", DATE).size());
+    }
+
+    private static Train train(String trainId, String... stations) {
+        return new Train(trainId, "12001", List.of(List.of(0)), Map.of(), List.of(stations));
+    }
+}
@@ -0,0 +1,168 @@
+// UserBookingServiceTest.java
+package ticket.booking.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ticket.booking.entities.SeatMap;
+import ticket.booking.entities.Ticket;
+import ticket.booking.entities.Train;
+import ticket.booking.entities.User;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that cancelling a booking hands the seat to the waitlist or back to the inventory
+ * without ever leaving a seat with two owners or none.
+ */
+public class UserBookingServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TrainService trainService;
+    private UserBookingService bookingService;
+    private Train train;
+    private User alice;
+    private User bob;
+    private User carol;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path usersFile = tempDir.resolve("users.json");
+        Files.writeString(usersFile, "[]");
+
+        // One row of two seats, so two bookings fill the train
+        train = new Train("exp001", "12001", List.of(List.of(0, 0)),
+                Map.of("Pune", "06:00", "Mumbai", "09:00"), List.of("Pune", "Mumbai"));
+        trainService = new TrainService(List.of(train));
+        bookingService = new UserBookingService(usersFile.toString(), trainService);
+
+        alice = signUp("alice");
+        bob = signUp("bob");
+        carol = signUp("carol");
+    }
+
+    @Test
+    public void joinWaitlistIsRejectedWhileSeatsAreFree() {
+        assertTrue(bookingService.bookTrainSeat(alice, train, 0, 0));
+
+        assertTrue(bookingService.joinWaitlist(carol, train, 0).isEmpty());
+    }
+
+    @Test
+    public void joinWaitlistRequiresLogin() {
+        fillTrain();
+
+        assertTrue(bookingService.joinWaitlist(train, 0).isEmpty());
+        assertFalse(bookingService.leaveWaitlist(train));
+    }
+
+    @Test
+    public void joinWaitlistOncePerUser() {
+        fillTrain();
+
+        assertTrue(bookingService.joinWaitlist(carol, train, 0).isPresent());
+        assertTrue(bookingService.joinWaitlist(carol, train, 0).isEmpty());
+    }
+
+    @Test
+    public void cancelPromotesWaitlistedUserToTheSameSeat() throws IOException {
+        fillTrain();
+        bookingService.joinWaitlist(carol, train, 0);
+        Ticket cancelled = alice.getTicketsBooked().get(0);
+
+        assertTrue(bookingService.cancelBooking(alice, cancelled.getTicketId()));
+
+        assertTrue(alice.getTicketsBooked().isEmpty());
+        assertEquals(1, carol.getTicketsBooked().size());
+        Ticket promoted = carol.getTicketsBooked().get(0);
+        assertEquals(cancelled.getSeatRow(), promoted.getSeatRow());
+        assertEquals(cancelled.getSeatColumn(), promoted.getSeatColumn());
+        assertEquals(SeatMap.BOOKED, train.getSeatMap().getSeat(0, 0)); // Seat changed owner, never freed
+        assertEquals(0, train.getSeatMap().getFreeSeatCount());
+    }
+
+    @Test
+    public void promotedPassengerPaysTheSurgeOfTheFreedSeat() throws IOException {
+        fillTrain();
+        bookingService.joinWaitlist(carol, train, 0);
+        Ticket cancelled = alice.getTicketsBooked().get(0);
+
+        bookingService.cancelBooking(alice, cancelled.getTicketId());
+
+        // Half the seats free when each booked, so neither pays surge even though the train is full again
+        Ticket promoted = carol.getTicketsBooked().get(0);
+        assertEquals(cancelled.getFare(), promoted.getFare());
+        assertEquals(bob.getTicketsBooked().get(0).getFare(), promoted.getFare());
+    }
+
+    @Test
+    public void cancelWithEmptyWaitlistReleasesTheSeat() throws IOException {
+        fillTrain();
+        bookingService.joinWaitlist(carol, train, 0);
+        bookingService.cancelBooking(alice, alice.getTicketsBooked().get(0).getTicketId());
+
+        // Carol now holds seat (0, 0) and nobody is waiting, so her cancel frees it
+        assertTrue(bookingService.cancelBooking(carol, carol.getTicketsBooked().get(0).getTicketId()));
+
+        assertEquals(SeatMap.FREE, train.getSeatMap().getSeat(0, 0));
+        assertEquals(1, train.getSeatMap().getFreeSeatCount());
+    }
+
+    @Test
+    public void secondCancelOfSameTicketDoesNothing() throws IOException {
+        fillTrain();
+        String ticketId = alice.getTicketsBooked().get(0).getTicketId();
+
+        assertTrue(bookingService.cancelBooking(alice, ticketId));
+        assertFalse(bookingService.cancelBooking(alice, ticketId));
+
+        assertEquals(1, train.getSeatMap().getFreeSeatCount());
+    }
+
+    @Test
+    public void userWhoLeftIsNotPromoted() throws IOException {
+        fillTrain();
+        bookingService.joinWaitlist(carol, train, 0);
+        assertTrue(bookingService.leaveWaitlist(carol, train));
+
+        bookingService.cancelBooking(alice, alice.getTicketsBooked().get(0).getTicketId());
+
+        assertTrue(carol.getTicketsBooked().isEmpty());
+        assertEquals(SeatMap.FREE, train.getSeatMap().getSeat(0, 0));
+    }
+
+    @Test
+    public void bookingThroughAReplacedInstanceTicketsTheStoredTrain() {
+        Train updated = new Train("exp001", "12001", List.of(List.of(0, 0)),
+                Map.of("Pune", "07:00", "Lonavala", "08:00", "Mumbai", "10:00"), List.of("Pune", "Lonavala", "Mumbai"));
+        trainService.upsertTrains(List.of(updated), new ArrayList<>());
+
+        assertTrue(bookingService.bookTrainSeat(alice, train, 0, 0));   // Still holds the old instance
+
+        Ticket ticket = alice.getTicketsBooked().get(0);
+        assertSame(updated, ticket.getTrain());
+        assertEquals(SeatMap.BOOKED, updated.getSeatMap().getSeat(0, 0));
+        assertEquals(SeatMap.FREE, train.getSeatMap().getSeat(0, 0));
+    }
+
+    private void fillTrain() {
+        assertTrue(bookingService.bookTrainSeat(alice, train, 0, 0));
+        assertTrue(bookingService.bookTrainSeat(bob, train, 0, 1));
+        assertEquals(0, train.getSeatMap().getFreeSeatCount());
+    }
+
+    private User signUp(String username) throws IOException {
+        User user = new User(username, null, "hashed-" + username, new ArrayList<>(), username + "-id");
+        assertTrue(bookingService.signUp(user));
+        return user;
+    }
+}
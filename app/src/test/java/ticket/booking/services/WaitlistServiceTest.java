@@ -0,0 +1,80 @@
+// WaitlistServiceTest.java
+package ticket.booking.services;
+
+import org.junit.jupiter.api.Test;
+import ticket.booking.entities.WaitlistEntry;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for waitlist ordering, de-duplication and promotion.
+ */
+public class WaitlistServiceTest {
+
+    private static final String DATE = "2021-09-01";
+
+    private final WaitlistService waitlistService = new WaitlistService();
+
+    @Test
+    public void promotesByPriorityThenArrivalOrder() {
+        waitlistService.join("early-general", "exp001", DATE, 1);
+        waitlistService.join("late-general", "exp001", DATE, 1);
+        waitlistService.join("senior", "exp001", DATE, 0);
+
+        assertEquals("senior", promote("exp001"));
+        assertEquals("early-general", promote("exp001"));
+        assertEquals("late-general", promote("exp001"));
+        assertTrue(waitlistService.promoteNext("exp001", DATE).isEmpty());
+    }
+
+    @Test
+    public void keepsOneWaitlistPerTrainAndDate() {
+        waitlistService.join("alice", "exp001", DATE, 0);
+        waitlistService.join("bob", "EXP001", DATE, 0);
+        waitlistService.join("carol", "exp001", "2021-09-02", 0);
+
+        assertEquals(2, waitlistService.size("exp001", DATE));
+        assertEquals(1, waitlistService.size("exp001", "2021-09-02"));
+        assertEquals(0, waitlistService.size("exp002", DATE));
+    }
+
+    @Test
+    public void rejectsSecondJoinBySameUser() {
+        assertTrue(waitlistService.join("alice", "exp001", DATE, 1).isPresent());
+        assertTrue(waitlistService.join("alice", "exp001", DATE, 0).isEmpty());
+
+        assertEquals(1, waitlistService.size("exp001", DATE));
+        assertEquals(1, waitlistService.promoteNext("exp001", DATE).get().getPriority());
+    }
+
+    @Test
+    public void userCanRejoinAfterBeingPromoted() {
+        waitlistService.join("alice", "exp001", DATE, 0);
+        promote("exp001");
+
+        assertTrue(waitlistService.join("alice", "exp001", DATE, 0).isPresent());
+    }
+
+    @Test
+    public void leaveRemovesOnlyThatUser() {
+        waitlistService.join("alice", "exp001", DATE, 0);
+        waitlistService.join("bob", "exp001", DATE, 0);
+        waitlistService.join("carol", "exp001", DATE, 0);
+
+        assertTrue(waitlistService.leave("bob", "exp001", DATE));
+        assertFalse(waitlistService.leave("bob", "exp001", DATE));
+        assertEquals(2, waitlistService.size("exp001", DATE));
+
+        assertEquals("alice", promote("exp001"));
+        assertEquals("carol", promote("exp001"));
+        assertEquals(0, waitlistService.size("exp001", DATE));
+    }
+
+    private String promote(String trainId) {
+        Optional<WaitlistEntry> next = waitlistService.promoteNext(trainId, DATE);
+        assertTrue(next.isPresent());
+        return next.get().getUserId();
+    }
+}